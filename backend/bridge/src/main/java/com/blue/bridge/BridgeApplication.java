@@ -5,6 +5,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.blue.bridge.notification.dto.NotificationDTO;
 import com.blue.bridge.notification.service.NotificationService;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 @RequiredArgsConstructor
 public class BridgeApplication {
 
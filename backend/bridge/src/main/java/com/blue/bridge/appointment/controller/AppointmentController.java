@@ -1,14 +1,26 @@
 package com.blue.bridge.appointment.controller;
 
+import com.blue.bridge.appointment.dto.AppointmentChangesDTO;
 import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentPageDTO;
+import com.blue.bridge.appointment.dto.AppointmentRescheduleDTO;
+import com.blue.bridge.appointment.dto.AppointmentSeriesDTO;
+import com.blue.bridge.appointment.service.AppointmentEventStream;
 import com.blue.bridge.appointment.service.AppointmentService;
+import com.blue.bridge.appointment.service.IdempotencyStore;
+import com.blue.bridge.enums.AppointmentStatus;
 import com.blue.bridge.res.Response;
+import com.blue.bridge.users.service.CurrentActor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -18,10 +30,31 @@ import java.util.concurrent.ThreadPoolExecutor;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final IdempotencyStore idempotencyStore;
+    private final AppointmentEventStream appointmentEventStream;
+    private final CurrentActor currentActor;
 
     @PostMapping
-    public ResponseEntity<Response<AppointmentDTO>> bookAppointment(@RequestBody @Valid AppointmentDTO appointmentDTO) {
-        return ResponseEntity.ok(appointmentService.bookAppointment(appointmentDTO));
+    public ResponseEntity<Response<AppointmentDTO>> bookAppointment(
+            @RequestBody @Valid AppointmentDTO appointmentDTO,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        return ResponseEntity.ok(idempotencyStore.execute("book", idempotencyKey, appointmentDTO,
+                () -> appointmentService.bookAppointment(appointmentDTO)));
+    }
+
+    @PostMapping("/series")
+    public ResponseEntity<Response<AppointmentSeriesDTO>> bookAppointmentSeries(
+            @RequestBody @Valid AppointmentSeriesDTO seriesDTO,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        return ResponseEntity.ok(idempotencyStore.execute("book-series", idempotencyKey, seriesDTO,
+                () -> appointmentService.bookAppointmentSeries(seriesDTO)));
+    }
+
+    @PutMapping("/series/{seriesId}/cancel")
+    public ResponseEntity<Response<?>> cancelAppointmentSeries(@PathVariable String seriesId) {
+        return ResponseEntity.ok(appointmentService.cancelAppointmentSeries(seriesId));
     }
 
     @GetMapping
@@ -29,9 +62,50 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getMyAppointments());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAppointmentEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return appointmentEventStream.subscribe(currentActor.getUserId(), lastEventId);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<Response<AppointmentPageDTO>> getMyAppointmentsPage(
+            @RequestParam(required = false) AppointmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(appointmentService.getMyAppointmentsPage(status, from, to, cursor, size));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Response<AppointmentChangesDTO>> getMyAppointmentChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return ResponseEntity.ok(appointmentService.getMyAppointmentChanges(since, afterId, size));
+    }
+
+    @PutMapping("/{appointmentId}/reschedule")
+    public ResponseEntity<Response<AppointmentDTO>> rescheduleAppointment(
+            @PathVariable Long appointmentId,
+            @RequestBody @Valid AppointmentRescheduleDTO rescheduleDTO,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        return ResponseEntity.ok(idempotencyStore.execute("reschedule:" + appointmentId, idempotencyKey, rescheduleDTO,
+                () -> appointmentService.rescheduleAppointment(appointmentId, rescheduleDTO)));
+    }
+
     @PutMapping("/cancel/{appointmentId}")
-    public ResponseEntity<Response<AppointmentDTO>> cancelAppointment(@PathVariable Long appointmentId) {
-        return ResponseEntity.ok(appointmentService.cancelAppointment(appointmentId));
+    public ResponseEntity<Response<AppointmentDTO>> cancelAppointment(
+            @PathVariable Long appointmentId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        return ResponseEntity.ok(idempotencyStore.execute("cancel", idempotencyKey, appointmentId,
+                () -> appointmentService.cancelAppointment(appointmentId)));
     }
 
     @PutMapping("/complete/{appointmentId}")
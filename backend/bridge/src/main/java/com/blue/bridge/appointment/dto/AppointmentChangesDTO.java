@@ -0,0 +1,29 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentChangesDTO {
+
+    private List<AppointmentDTO> appointments;
+
+    private LocalDateTime nextSince;
+
+    private Long nextAfterId;
+
+    private boolean hasMore;
+}
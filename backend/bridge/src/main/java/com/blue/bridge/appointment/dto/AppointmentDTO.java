@@ -25,6 +25,8 @@ import lombok.NoArgsConstructor;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AppointmentDTO {
 
+    private Long id;
+
     @NotNull(message = "Doctor ID is required for booking an appointment.")
     private Long doctorId;
 
@@ -45,4 +47,6 @@ public class AppointmentDTO {
     private DoctorDTO doctor;
 
     private PatientDTO patient;
+
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,18 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The ids of an appointment and of everyone involved in it, for building events without
+ * loading the entities.
+ */
+public record AppointmentParties(
+        Long id,
+        Long doctorId,
+        Long doctorUserId,
+        Long patientId,
+        Long patientUserId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,26 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentRescheduleDTO {
+
+    @NotNull(message = "New start time is required to reschedule the appointment.")
+    @Future(message = "Appointment must be scheduled for a future date and time")
+    private LocalDateTime startTime;
+}
@@ -0,0 +1,45 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.enums.BloodGroup;
+import com.blue.bridge.enums.Genotype;
+import com.blue.bridge.enums.Specialization;
+
+/**
+ * Flat projection of an appointment with its doctor, patient and their users, read in a single
+ * query for the appointment listings.
+ */
+public record AppointmentRow(
+        Long id,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String meetingLink,
+        String purposeOfConsultation,
+        String initialSymptoms,
+        AppointmentStatus status,
+        Long doctorId,
+        String doctorFirstName,
+        String doctorLastName,
+        Specialization doctorSpecialization,
+        String doctorLicenseNumber,
+        Long doctorUserId,
+        String doctorUserName,
+        String doctorUserEmail,
+        String doctorUserProfilePictureUrl,
+        Long patientId,
+        String patientFirstName,
+        String patientLastName,
+        LocalDate patientDateOfBirth,
+        String patientPhone,
+        BloodGroup patientBloodGroup,
+        Genotype patientGenotype,
+        Long patientUserId,
+        String patientUserName,
+        String patientUserEmail,
+        String patientUserProfilePictureUrl,
+        LocalDateTime updatedAt
+) {
+}
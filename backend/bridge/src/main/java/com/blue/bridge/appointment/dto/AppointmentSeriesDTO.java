@@ -0,0 +1,49 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentSeriesDTO {
+
+    private String seriesId;
+
+    @NotNull(message = "Doctor ID is required for booking an appointment series.")
+    private Long doctorId;
+
+    @NotNull(message = "Start time of the first appointment is required.")
+    @Future(message = "Appointment must be scheduled for a future date and time")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "Number of occurrences is required.")
+    @Min(value = 2, message = "A series needs at least 2 occurrences.")
+    @Max(value = 52, message = "A series can have at most 52 occurrences.")
+    private Integer occurrences;
+
+    @Min(value = 1, message = "Interval must be at least 1 week.")
+    @Max(value = 4, message = "Interval can be at most 4 weeks.")
+    private Integer intervalWeeks;
+
+    private String purposeOfConsultation;
+
+    private String initialSymptoms;
+
+    private List<LocalDateTime> startTimes;
+}
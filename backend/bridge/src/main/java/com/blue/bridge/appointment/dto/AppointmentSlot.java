@@ -0,0 +1,6 @@
+package com.blue.bridge.appointment.dto;
+
+import java.time.LocalDateTime;
+
+public record AppointmentSlot(Long doctorId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,8 @@
+package com.blue.bridge.appointment.dto;
+
+/**
+ * A stored idempotency record as seen by a duplicate request. The response stays null while the
+ * first request is still running.
+ */
+public record IdempotentResult(String requestHash, String response, String responseType) {
+}
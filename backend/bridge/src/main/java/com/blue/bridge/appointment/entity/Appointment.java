@@ -2,6 +2,10 @@ package com.blue.bridge.appointment.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.blue.bridge.consultation.entity.Consultation;
 import com.blue.bridge.doctor.entity.Doctor;
 import com.blue.bridge.enums.AppointmentStatus;
@@ -16,17 +20,27 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_id_id", columnList = "doctor_id, id"),
+        @Index(name = "idx_appointments_patient_id_id", columnList = "patient_id, id"),
+        @Index(name = "idx_appointments_series_id", columnList = "series_id"),
+        @Index(name = "idx_appointments_doctor_id_updated_at", columnList = "doctor_id, updated_at, id"),
+        @Index(name = "idx_appointments_patient_id_updated_at", columnList = "patient_id, updated_at, id")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -51,14 +65,36 @@ public class Appointment {
     @Enumerated(EnumType.STRING)
     private AppointmentStatus status;
 
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer reminderStage = 0;
+
+    @Column(length = 32)
+    private String seriesId;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Doctor doctor;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Patient patient;
 
     @OneToOne(mappedBy = "appointment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Consultation Consultation;
 }
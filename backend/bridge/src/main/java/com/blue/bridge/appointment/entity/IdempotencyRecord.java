@@ -0,0 +1,35 @@
+package com.blue.bridge.appointment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Table(name = "idempotency_records")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "record_key")
+    private String recordKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(columnDefinition = "text")
+    private String response;
+
+    @Column(name = "response_type")
+    private String responseType;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,83 @@
+package com.blue.bridge.appointment.event;
+
+import java.time.LocalDateTime;
+
+import com.blue.bridge.appointment.dto.AppointmentParties;
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.enums.AppointmentEventType;
+
+/**
+ * Published in-process whenever an appointment is booked, rescheduled or leaves the SCHEDULED
+ * state. The start and end times are the slot the appointment occupied while scheduled; for a
+ * reschedule they are the new slot and the previous times hold the one it moved out of.
+ */
+public record AppointmentEvent(
+        AppointmentEventType type,
+        Long appointmentId,
+        Long doctorId,
+        Long doctorUserId,
+        Long patientId,
+        Long patientUserId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        LocalDateTime previousStartTime,
+        LocalDateTime previousEndTime
+) {
+
+    public static AppointmentEvent of(AppointmentEventType type, Appointment appointment) {
+        return new AppointmentEvent(
+                type,
+                appointment.getId(),
+                appointment.getDoctor().getId(),
+                appointment.getDoctor().getUser().getId(),
+                appointment.getPatient().getId(),
+                appointment.getPatient().getUser().getId(),
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                null,
+                null);
+    }
+
+    public static AppointmentEvent of(AppointmentEventType type, AppointmentParties parties) {
+        return new AppointmentEvent(
+                type,
+                parties.id(),
+                parties.doctorId(),
+                parties.doctorUserId(),
+                parties.patientId(),
+                parties.patientUserId(),
+                parties.startTime(),
+                parties.endTime(),
+                null,
+                null);
+    }
+
+    public static AppointmentEvent of(AppointmentEventType type, AppointmentRow row) {
+        return new AppointmentEvent(
+                type,
+                row.id(),
+                row.doctorId(),
+                row.doctorUserId(),
+                row.patientId(),
+                row.patientUserId(),
+                row.startTime(),
+                row.endTime(),
+                null,
+                null);
+    }
+
+    public static AppointmentEvent rescheduled(AppointmentRow row, LocalDateTime startTime, LocalDateTime endTime) {
+        return new AppointmentEvent(
+                AppointmentEventType.RESCHEDULED,
+                row.id(),
+                row.doctorId(),
+                row.doctorUserId(),
+                row.patientId(),
+                row.patientUserId(),
+                startTime,
+                endTime,
+                row.startTime(),
+                row.endTime());
+    }
+}
@@ -0,0 +1,58 @@
+package com.blue.bridge.appointment.repo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blue.bridge.appointment.entity.Appointment;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserts many appointments with one JDBC batch. Hibernate cannot batch inserts of entities with
+ * IDENTITY ids, so bulk paths write the rows directly and read them back by series id.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentBatchInserter {
+
+    private static final String INSERT_SQL = "INSERT INTO appointments " +
+            "(start_time, end_time, meeting_link, purpose_of_consultation, initial_symptoms, status, " +
+            "doctor_id, patient_id, reminder_stage, series_id, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<Appointment> appointments) {
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Appointment appointment = appointments.get(i);
+                ps.setTimestamp(1, Timestamp.valueOf(appointment.getStartTime()));
+                ps.setTimestamp(2, Timestamp.valueOf(appointment.getEndTime()));
+                ps.setString(3, appointment.getMeetingLink());
+                ps.setString(4, appointment.getPurposeOfConsultation());
+                ps.setString(5, appointment.getInitialSymptoms());
+                ps.setString(6, appointment.getStatus().name());
+                ps.setLong(7, appointment.getDoctor().getId());
+                ps.setLong(8, appointment.getPatient().getId());
+                ps.setInt(9, appointment.getReminderStage());
+                ps.setString(10, appointment.getSeriesId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return appointments.size();
+            }
+        });
+    }
+}
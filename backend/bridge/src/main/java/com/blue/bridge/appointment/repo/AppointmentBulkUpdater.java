@@ -0,0 +1,108 @@
+package com.blue.bridge.appointment.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blue.bridge.enums.AppointmentStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conditional bulk updates that report the rows they changed with {@code RETURNING id}. They run
+ * through JDBC rather than Spring Data, whose {@code @Modifying} queries go through executeUpdate
+ * and cannot return rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentBulkUpdater {
+
+    private static final String MARK_NO_SHOWS_SQL = "UPDATE appointments " +
+            "SET status = 'NO_SHOW', version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id IN (" +
+            "SELECT id FROM appointments " +
+            "WHERE " + fromStatusesOf(AppointmentStatus.NO_SHOW) + " AND end_time < :cutoff " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id";
+
+    private static final String CLAIM_REMINDERS_SQL = "UPDATE appointments " +
+            "SET reminder_stage = :stage, version = version + 1 " +
+            "WHERE (id, start_time) IN (:expected) AND status = 'SCHEDULED' AND reminder_stage < :stage " +
+            "RETURNING id";
+
+    private static final String CANCEL_SERIES_SQL = "UPDATE appointments " +
+            "SET status = 'CANCELLED', version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE series_id = :seriesId AND " + fromStatusesOf(AppointmentStatus.CANCELLED) + " AND start_time > :now " +
+            "AND (patient_id = :patientId OR doctor_id = :doctorId) " +
+            "RETURNING id";
+
+    private static final String CANCEL_IN_RANGE_SQL = "UPDATE appointments " +
+            "SET status = 'CANCELLED', version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE doctor_id = :doctorId AND " + fromStatusesOf(AppointmentStatus.CANCELLED) + " " +
+            "AND start_time < :to AND end_time > :from AND start_time > :now " +
+            "RETURNING id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Marks up to {@code batchSize} scheduled appointments that ended before the cutoff as no-shows
+     * and returns their ids. Rows locked by another transaction are skipped.
+     */
+    @Transactional
+    public List<Long> markNoShows(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.queryForList(MARK_NO_SHOWS_SQL, Map.of("cutoff", cutoff, "batchSize", batchSize), Long.class);
+    }
+
+    /**
+     * Advances the reminder stage of the given appointments that have not reached it yet and
+     * returns the ids it advanced, so each reminder is claimed by exactly one sender. An
+     * appointment only matches while it still starts at the time the reminder was scheduled for,
+     * so a reminder left behind by a reschedule on another node neither fires nor blocks the new one.
+     */
+    @Transactional
+    public List<Long> claimReminders(Map<Long, LocalDateTime> startTimes, int stage) {
+
+        List<Object[]> expected = startTimes.entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+                .toList();
+
+        return jdbcTemplate.queryForList(CLAIM_REMINDERS_SQL, Map.of("expected", expected, "stage", stage), Long.class);
+    }
+
+    /**
+     * Cancels the upcoming scheduled appointments of a series that belong to the patient or the
+     * doctor given, and returns their ids.
+     */
+    @Transactional
+    public List<Long> cancelSeries(String seriesId, Long patientId, Long doctorId, LocalDateTime now) {
+        return jdbcTemplate.queryForList(CANCEL_SERIES_SQL,
+                Map.of("seriesId", seriesId, "patientId", patientId, "doctorId", doctorId, "now", now),
+                Long.class);
+    }
+
+    /**
+     * Cancels every scheduled appointment of the doctor that overlaps the range and has not started
+     * by {@code now}, and returns their ids.
+     */
+    @Transactional
+    public List<Long> cancelInRange(Long doctorId, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        return jdbcTemplate.queryForList(CANCEL_IN_RANGE_SQL,
+                Map.of("doctorId", doctorId, "from", from, "to", to, "now", now),
+                Long.class);
+    }
+
+    /**
+     * The statuses a transition may start from, written as literals rather than bound so the
+     * planner can still match the partial index on scheduled appointments.
+     */
+    private static String fromStatusesOf(AppointmentStatus status) {
+        return status.sourceNames().stream()
+                .map(name -> "'" + name + "'")
+                .collect(Collectors.joining(", ", "status IN (", ")"));
+    }
+}
@@ -1,29 +1,180 @@
 package com.blue.bridge.appointment.repo;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.blue.bridge.appointment.dto.AppointmentParties;
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.dto.AppointmentSlot;
 import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.enums.AppointmentStatus;
 
 public interface AppointmentRepo extends JpaRepository<Appointment, Long> {
 
-    List<Appointment> findByDoctor_User_IdOrderByIdDesc(Long userId);
+    /**
+     * Leaves out the patient's known allergies: they are a large object, read only through the
+     * patient profile.
+     */
+    String ROW_SELECT = "SELECT new com.blue.bridge.appointment.dto.AppointmentRow(" +
+            "a.id, a.startTime, a.endTime, a.meetingLink, a.purposeOfConsultation, a.initialSymptoms, a.status, " +
+            "d.id, d.firstName, d.lastName, d.specialization, d.licenseNumber, " +
+            "du.id, du.name, du.email, du.profilePictureUrl, " +
+            "p.id, p.firstName, p.lastName, p.dateOfBirth, p.phone, p.bloodGroup, p.genotype, " +
+            "pu.id, pu.name, pu.email, pu.profilePictureUrl, a.updatedAt) " +
+            "FROM Appointment a " +
+            "JOIN a.doctor d JOIN d.user du " +
+            "JOIN a.patient p JOIN p.user pu ";
 
-    List<Appointment> findByPatient_User_IdOrderByIdDesc(Long userId);
+    String CHANGES_FILTER = "AND (CAST(:since AS LocalDateTime) IS NULL OR a.updatedAt > :since " +
+            "OR (a.updatedAt = :since AND a.id > :afterId)) " +
+            "AND a.updatedAt <= :until " +
+            "ORDER BY a.updatedAt, a.id";
 
-    @Query("SELECT a FROM Appointment a " +
-            "WHERE a.doctor.id = :doctorId " +
+    String ROW_FILTER = "AND (:status IS NULL OR a.status = :status) " +
+            "AND (CAST(:from AS LocalDateTime) IS NULL OR a.startTime >= :from) " +
+            "AND (CAST(:to AS LocalDateTime) IS NULL OR a.startTime < :to) " +
+            "AND (:beforeId IS NULL OR a.id < :beforeId) " +
+            "ORDER BY a.id DESC";
+
+    @Query("SELECT new com.blue.bridge.appointment.dto.AppointmentSlot(a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id IN :doctorIds " +
             "AND a.status = 'SCHEDULED' " +
-            "AND (" +
-            "    (a.startTime < :newEndTime AND a.endTime > :newStartTime)" +
-            ")")
-    List<Appointment> findConflictingAppointments(
+            "AND a.startTime < :to " +
+            "AND a.endTime > :from")
+    List<AppointmentSlot> findScheduledSlots(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query(ROW_SELECT + "WHERE d.id = :doctorId " + ROW_FILTER)
+    List<AppointmentRow> findDoctorRows(
             @Param("doctorId") Long doctorId,
-            @Param("newStartTime") LocalDateTime newStartTime,
-            @Param("newEndTime") LocalDateTime newEndTime
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    @Query(ROW_SELECT + "WHERE p.id = :patientId " + ROW_FILTER)
+    List<AppointmentRow> findPatientRows(
+            @Param("patientId") Long patientId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    @Query("SELECT new com.blue.bridge.appointment.dto.AppointmentParties(" +
+            "a.id, a.doctor.id, a.doctor.user.id, a.patient.id, a.patient.user.id, a.startTime, a.endTime) " +
+            "FROM Appointment a WHERE a.id IN :ids")
+    List<AppointmentParties> findPartiesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(ROW_SELECT + "WHERE a.id IN :ids")
+    List<AppointmentRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.blue.bridge.appointment.dto.AppointmentParties(" +
+            "a.id, a.doctor.id, a.doctor.user.id, a.patient.id, a.patient.user.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.status = 'SCHEDULED' " +
+            "AND a.startTime > :from " +
+            "AND a.startTime <= :to " +
+            "AND a.reminderStage < :stage")
+    List<AppointmentParties> findUpcomingWithPendingReminders(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("stage") int stage
+    );
+
+    @Query("SELECT new com.blue.bridge.appointment.dto.AppointmentParties(" +
+            "a.id, a.doctor.id, a.doctor.user.id, a.patient.id, a.patient.user.id, a.startTime, a.endTime) " +
+            "FROM Appointment a WHERE a.seriesId = :seriesId ORDER BY a.startTime")
+    List<AppointmentParties> findPartiesBySeriesId(@Param("seriesId") String seriesId);
+
+    /**
+     * Moves the appointment to {@code status} if it is still in one of {@code from}, and returns
+     * the number of rows changed, so 0 means another transition got there first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE appointments SET status = :status, version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status IN (:from)",
+            nativeQuery = true)
+    int transitionStatus(
+            @Param("id") Long id,
+            @Param("from") Collection<String> from,
+            @Param("status") String status
+    );
+
+    /**
+     * Bumps the appointment's version and change timestamp without changing it, so delta sync
+     * picks up a change made to one of its children.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE appointments SET version = version + 1, updated_at = LOCALTIMESTAMP WHERE id = :id",
+            nativeQuery = true)
+    int touch(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE appointments SET status = 'COMPLETED', end_time = :endTime, version = version + 1, " +
+            "updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status IN (:from)",
+            nativeQuery = true)
+    int markCompleted(
+            @Param("id") Long id,
+            @Param("from") Collection<String> from,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    /**
+     * Moves a scheduled appointment to a new slot in one statement, so the doctor's exclusion
+     * constraint sees the old range released and the new one taken together. Matching on the
+     * previous start time makes a concurrent reschedule of the same appointment return 0.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE appointments SET start_time = :startTime, end_time = :endTime, reminder_stage = 0, " +
+            "version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status = 'SCHEDULED' AND start_time = :previousStartTime",
+            nativeQuery = true)
+    int reschedule(
+            @Param("id") Long id,
+            @Param("previousStartTime") LocalDateTime previousStartTime,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    @Query(ROW_SELECT + "WHERE d.id = :doctorId " + CHANGES_FILTER)
+    List<AppointmentRow> findDoctorChanges(
+            @Param("doctorId") Long doctorId,
+            @Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Limit limit
+    );
+
+    @Query(ROW_SELECT + "WHERE p.id = :patientId " + CHANGES_FILTER)
+    List<AppointmentRow> findPatientChanges(
+            @Param("patientId") Long patientId,
+            @Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Limit limit
     );
 }
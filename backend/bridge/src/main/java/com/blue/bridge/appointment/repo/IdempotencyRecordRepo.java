@@ -0,0 +1,67 @@
+package com.blue.bridge.appointment.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blue.bridge.appointment.dto.IdempotentResult;
+import com.blue.bridge.appointment.entity.IdempotencyRecord;
+
+public interface IdempotencyRecordRepo extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for a running request, taking over a record that has expired. Returns 0 when
+     * another request holds the key.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_records (record_key, request_hash, response, response_type, expires_at) " +
+            "VALUES (:recordKey, :requestHash, NULL, NULL, :leaseUntil) " +
+            "ON CONFLICT (record_key) DO UPDATE " +
+            "SET request_hash = EXCLUDED.request_hash, response = NULL, response_type = NULL, " +
+            "    expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_records.expires_at <= :now",
+            nativeQuery = true)
+    int claim(
+            @Param("recordKey") String recordKey,
+            @Param("requestHash") String requestHash,
+            @Param("leaseUntil") long leaseUntil,
+            @Param("now") long now
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE idempotency_records " +
+            "SET response = :response, response_type = :responseType, expires_at = :expiresAt " +
+            "WHERE record_key = :recordKey AND request_hash = :requestHash AND response IS NULL",
+            nativeQuery = true)
+    int complete(
+            @Param("recordKey") String recordKey,
+            @Param("requestHash") String requestHash,
+            @Param("response") String response,
+            @Param("responseType") String responseType,
+            @Param("expiresAt") long expiresAt
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_records " +
+            "WHERE record_key = :recordKey AND request_hash = :requestHash AND response IS NULL",
+            nativeQuery = true)
+    int release(@Param("recordKey") String recordKey, @Param("requestHash") String requestHash);
+
+    // A projection rather than the entity, so a duplicate polling inside one persistence context
+    // sees each new read instead of the instance it loaded first.
+    @Query("SELECT new com.blue.bridge.appointment.dto.IdempotentResult(r.requestHash, r.response, r.responseType) " +
+            "FROM IdempotencyRecord r WHERE r.recordKey = :recordKey")
+    Optional<IdempotentResult> findResult(@Param("recordKey") String recordKey);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_records WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,311 @@
+package com.blue.bridge.appointment.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes appointment events to the doctors and patients they concern over server-sent events.
+ * Idle connections hold no thread: events and heartbeats are written by a few sender threads,
+ * each user always on the same one so their events arrive in order. A client that stops reading
+ * would block its sender once the socket buffer fills, stalling every user on it, so each write
+ * gets a timeout and a stream whose write runs past it is closed.
+ * Recent events stay in a ring buffer so a client reconnecting with Last-Event-ID gets what it
+ * missed; when it missed more than the buffer holds it is told to resync instead.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentEventStream {
+
+    private static final String RESYNC_EVENT = "resync";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Event ids are prefixed with the start time of this node, so ids from before a restart are
+     * recognised and answered with a resync.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Value("${appointments.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${appointments.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${appointments.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${appointments.stream.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${appointments.stream.threads:2}")
+    private int threads;
+
+    @Value("${appointments.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private StreamedEvent[] buffer;
+
+    private long sequence;
+
+    private ExecutorService[] senders;
+
+    /**
+     * Runs the actual writes, so a sender can give up on a write that does not finish in time.
+     * A write that timed out keeps its virtual thread until the connection is torn down.
+     */
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    private void init() {
+        this.buffer = new StreamedEvent[bufferSize];
+
+        this.senders = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            String name = "appointment-stream-" + (i + 1);
+            senders[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        Gauge.builder("appointments.stream.connections", connections, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        for (ExecutorService sender : senders) {
+            sender.shutdown();
+        }
+        writers.shutdownNow();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Opens a stream for the user. The replay snapshot and the registration happen under the
+     * same monitor that appends events, so an event is either in the replay or delivered live,
+     * never both, and the replay is queued on the user's sender ahead of any later event.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceUnavailableException("Event stream capacity reached, please fall back to polling.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        synchronized (this) {
+            try {
+                emitters.compute(userId, (id, userEmitters) -> {
+                    Set<SseEmitter> current = userEmitters != null ? userEmitters : new CopyOnWriteArraySet<>();
+                    if (current.size() >= maxConnectionsPerUser) {
+                        throw new ServiceUnavailableException("Too many open event streams for this user.");
+                    }
+                    current.add(emitter);
+                    return current;
+                });
+            } catch (ServiceUnavailableException e) {
+                connections.decrementAndGet();
+                throw e;
+            }
+
+            List<StreamedEvent> missed = missedEvents(userId, lastEventId);
+
+            senderFor(userId).execute(() -> {
+                if (missed == null) {
+                    send(userId, emitter, SseEmitter.event().name(RESYNC_EVENT).data(""));
+                } else {
+                    missed.forEach(event -> send(userId, emitter, toSse(event)));
+                }
+            });
+        }
+
+        return emitter;
+    }
+
+    @EventListener
+    public synchronized void onAppointmentEvent(AppointmentEvent event) {
+
+        StreamedEvent streamed = append(event);
+
+        senderFor(event.doctorUserId()).execute(() -> deliver(event.doctorUserId(), streamed));
+
+        if (!event.patientUserId().equals(event.doctorUserId())) {
+            senderFor(event.patientUserId()).execute(() -> deliver(event.patientUserId(), streamed));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${appointments.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+
+        if (connections.get() == 0) {
+            return;
+        }
+
+        emitters.forEach((userId, userEmitters) -> {
+            if (!userEmitters.isEmpty()) {
+                senderFor(userId).execute(() -> userEmitters.forEach(emitter ->
+                        send(userId, emitter, SseEmitter.event().comment("heartbeat"))));
+            }
+        });
+    }
+
+    private ExecutorService senderFor(Long userId) {
+        return senders[(int) Math.floorMod(userId, (long) senders.length)];
+    }
+
+    private void deliver(Long userId, StreamedEvent event) {
+
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+
+        for (SseEmitter emitter : userEmitters) {
+            send(userId, emitter, toSse(event));
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+
+        // Already dropped, possibly with a timed-out write still holding the emitter.
+        if (userEmitters == null || !userEmitters.contains(emitter)) {
+            return;
+        }
+
+        Future<?> write = writers.submit(() -> {
+            emitter.send(event);
+            return null;
+        });
+
+        try {
+            write.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Dropping event stream of user {}: write did not finish within {} ms", userId, sendTimeoutMs);
+            write.cancel(true);
+            drop(userId, emitter, new IOException("Event stream write timed out"));
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof IOException) && !(e.getCause() instanceof IllegalStateException)) {
+                throw new IllegalStateException(e.getCause());
+            }
+            log.debug("Dropping event stream of user {}: {}", userId, e.getCause().getMessage());
+            drop(userId, emitter, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drop(Long userId, SseEmitter emitter, Throwable cause) {
+        unregister(userId, emitter);
+        // Completing takes the emitter's write lock, which a stuck write still holds.
+        writers.execute(() -> emitter.completeWithError(cause));
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            if (userEmitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private SseEmitter.SseEventBuilder toSse(StreamedEvent streamed) {
+        return SseEmitter.event()
+                .id(epoch + "-" + streamed.sequence())
+                .name(streamed.event().type().name().toLowerCase())
+                .data(streamed.event());
+    }
+
+    private synchronized StreamedEvent append(AppointmentEvent event) {
+        StreamedEvent streamed = new StreamedEvent(++sequence, event);
+        buffer[(int) (streamed.sequence() % bufferSize)] = streamed;
+        return streamed;
+    }
+
+    /**
+     * The buffered events after {@code lastEventId} that concern the user, or null when the
+     * client has to resync because the id is unknown or already fell out of the buffer.
+     */
+    private synchronized List<StreamedEvent> missedEvents(Long userId, String lastEventId) {
+
+        List<StreamedEvent> missed = new ArrayList<>();
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return missed;
+        }
+
+        int separator = lastEventId.lastIndexOf('-');
+
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (lastSequence > sequence || sequence - lastSequence > bufferSize) {
+            return null;
+        }
+
+        for (long next = lastSequence + 1; next <= sequence; next++) {
+            StreamedEvent streamed = buffer[(int) (next % bufferSize)];
+
+            if (streamed.event().doctorUserId().equals(userId) || streamed.event().patientUserId().equals(userId)) {
+                missed.add(streamed);
+            }
+        }
+
+        return missed;
+    }
+
+    private record StreamedEvent(long sequence, AppointmentEvent event) {
+    }
+}
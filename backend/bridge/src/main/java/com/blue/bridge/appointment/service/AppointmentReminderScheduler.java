@@ -0,0 +1,257 @@
+package com.blue.bridge.appointment.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.appointment.dto.AppointmentParties;
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.appointment.repo.AppointmentBulkUpdater;
+import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.enums.AppointmentEventType;
+import com.blue.bridge.notification.dto.NotificationDTO;
+import com.blue.bridge.notification.service.NotificationService;
+import com.blue.bridge.users.entity.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends patients a reminder a day and an hour before their appointment. Reminders due within the
+ * horizon sit in a hashed timing wheel that is filled from the database on startup and on a slow
+ * refresh, and kept current by appointment events. When reminders fire they are claimed with a
+ * conditional update first, so a reminder is sent once even with several nodes running.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AppointmentReminderScheduler {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
+
+    private final AppointmentRepo appointmentRepo;
+
+    private final AppointmentBulkUpdater appointmentBulkUpdater;
+
+    private final NotificationService notificationService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${appointments.reminders.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${appointments.reminders.wheel-size:4096}")
+    private int wheelSize;
+
+    @Value("${appointments.reminders.horizon-hours:26}")
+    private long horizonHours;
+
+    @Value("${appointments.reminders.batch-size:200}")
+    private int batchSize;
+
+    private HashedTimingWheel<Reminder> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    private Counter sentReminders;
+
+    @PostConstruct
+    private void init() {
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.sentReminders = Counter.builder("appointments.reminders.sent").register(meterRegistry);
+        Gauge.builder("appointments.reminders.pending", this, scheduler -> scheduler.wheel.size()).register(meterRegistry);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "appointment-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        ticker.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the reminders that have moved inside the horizon since the last refresh. Scheduling
+     * is keyed per appointment and stage, so reloading a reminder already in the wheel is harmless.
+     */
+    @Scheduled(fixedDelayString = "${appointments.reminders.refresh-interval-ms:3600000}", initialDelay = 3_600_000)
+    public void refresh() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<AppointmentParties> upcoming = appointmentRepo.findUpcomingWithPendingReminders(
+                now, now.plusHours(horizonHours), ReminderStage.HOUR_BEFORE.stage);
+
+        upcoming.forEach(parties -> scheduleReminders(parties.id(), parties.startTime()));
+
+        log.info("Loaded reminders for {} upcoming appointments, {} pending", upcoming.size(), wheel.size());
+    }
+
+    @EventListener
+    public void onAppointmentEvent(AppointmentEvent event) {
+
+        for (ReminderStage stage : ReminderStage.values()) {
+            wheel.cancel(key(event.appointmentId(), stage));
+        }
+
+        if (event.type() == AppointmentEventType.BOOKED || event.type() == AppointmentEventType.RESCHEDULED) {
+            scheduleReminders(event.appointmentId(), event.startTime());
+        }
+    }
+
+    private void scheduleReminders(Long appointmentId, LocalDateTime startTime) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (startTime.isAfter(now.plusHours(horizonHours))) {
+            return;
+        }
+
+        for (ReminderStage stage : ReminderStage.values()) {
+
+            LocalDateTime fireAt = startTime.minus(stage.lead);
+
+            if (fireAt.isBefore(now) && !stage.isLatestDue(startTime, now)) {
+                continue;
+            }
+
+            wheel.schedule(key(appointmentId, stage), toEpochMillis(fireAt), new Reminder(appointmentId, startTime, stage));
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Reminder> due = wheel.advance(System.currentTimeMillis());
+
+            if (!due.isEmpty()) {
+                dispatch(due);
+            }
+        } catch (Exception e) {
+            log.error("Failed to dispatch appointment reminders", e);
+        }
+    }
+
+    private void dispatch(List<Reminder> due) {
+
+        Map<ReminderStage, List<Reminder>> byStage = due.stream().collect(Collectors.groupingBy(Reminder::stage));
+
+        byStage.forEach((stage, reminders) -> {
+            for (int i = 0; i < reminders.size(); i += batchSize) {
+                sendBatch(stage, reminders.subList(i, Math.min(i + batchSize, reminders.size())));
+            }
+        });
+    }
+
+    private void sendBatch(ReminderStage stage, List<Reminder> reminders) {
+
+        Map<Long, LocalDateTime> startTimes = reminders.stream()
+                .collect(Collectors.toMap(Reminder::appointmentId, Reminder::startTime, (first, second) -> second));
+
+        List<Long> claimed = appointmentBulkUpdater.claimReminders(startTimes, stage.stage);
+
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<NotificationDTO> notifications = new ArrayList<>(claimed.size());
+
+        for (AppointmentRow row : appointmentRepo.findRowsByIds(claimed)) {
+
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("patientName", row.patientUserName());
+            variables.put("doctorName", row.doctorUserName());
+            variables.put("appointmentTime", row.startTime().format(FORMATTER));
+            variables.put("meetingLink", row.meetingLink());
+
+            notifications.add(NotificationDTO.builder()
+                    .recipient(row.patientUserEmail())
+                    .subject("Blue Bridge: Appointment Reminder")
+                    .templateName("appointment-reminder")
+                    .templateVariables(variables)
+                    .user(User.builder()
+                            .id(row.patientUserId())
+                            .name(row.patientUserName())
+                            .email(row.patientUserEmail())
+                            .build())
+                    .build());
+        }
+
+        notificationService.sendEmails(notifications);
+        sentReminders.increment(notifications.size());
+    }
+
+    private static long key(Long appointmentId, ReminderStage stage) {
+        return appointmentId * ReminderStage.values().length + stage.ordinal();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Reminder(Long appointmentId, LocalDateTime startTime, ReminderStage stage) {
+    }
+
+    /**
+     * The reminders sent for every appointment, in the order they fire. {@code stage} is what
+     * the appointment's reminder_stage column is set to once the reminder is claimed.
+     */
+    private enum ReminderStage {
+
+        DAY_BEFORE(1, Duration.ofHours(24)),
+        HOUR_BEFORE(2, Duration.ofHours(1));
+
+        private final int stage;
+
+        private final Duration lead;
+
+        ReminderStage(int stage, Duration lead) {
+            this.stage = stage;
+            this.lead = lead;
+        }
+
+        /**
+         * Whether this is the last reminder whose time has already come, so a late reminder is
+         * still sent but never together with a later one.
+         */
+        private boolean isLatestDue(LocalDateTime startTime, LocalDateTime now) {
+
+            if (!startTime.isAfter(now)) {
+                return false;
+            }
+
+            ReminderStage[] stages = values();
+
+            return ordinal() == stages.length - 1 || !startTime.minus(stages[ordinal() + 1].lead).isBefore(now);
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.blue.bridge.appointment.service;
 
+import com.blue.bridge.appointment.dto.AppointmentChangesDTO;
 import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentPageDTO;
+import com.blue.bridge.appointment.dto.AppointmentRescheduleDTO;
+import com.blue.bridge.appointment.dto.AppointmentSeriesDTO;
+import com.blue.bridge.enums.AppointmentStatus;
 import com.blue.bridge.res.Response;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AppointmentService {
 
     Response<AppointmentDTO> bookAppointment(AppointmentDTO appointmentDTO);
 
+    Response<AppointmentSeriesDTO> bookAppointmentSeries(AppointmentSeriesDTO seriesDTO);
+
+    Response<?> cancelAppointmentSeries(String seriesId);
+
     Response<List<AppointmentDTO>> getMyAppointments();
 
+    Response<AppointmentPageDTO> getMyAppointmentsPage(AppointmentStatus status, LocalDateTime from,
+                                                       LocalDateTime to, Long cursor, int size);
+
+    Response<AppointmentChangesDTO> getMyAppointmentChanges(LocalDateTime since, Long afterId, int size);
+
+    Response<AppointmentDTO> rescheduleAppointment(Long appointmentId, AppointmentRescheduleDTO rescheduleDTO);
+
     Response<AppointmentDTO> cancelAppointment(Long appointmentId);
 
     Response<?> complementAppointment(Long appointmentId);
@@ -1,28 +1,50 @@
 package com.blue.bridge.appointment.service;
 
+import com.blue.bridge.appointment.dto.AppointmentChangesDTO;
 import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentPageDTO;
+import com.blue.bridge.appointment.dto.AppointmentParties;
+import com.blue.bridge.appointment.dto.AppointmentRescheduleDTO;
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.dto.AppointmentSeriesDTO;
+import com.blue.bridge.appointment.dto.AppointmentSlot;
 import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.appointment.repo.AppointmentBatchInserter;
+import com.blue.bridge.appointment.repo.AppointmentBulkUpdater;
 import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.doctor.dto.DoctorDTO;
 import com.blue.bridge.doctor.entity.Doctor;
 import com.blue.bridge.doctor.repo.DoctorRepository;
+import com.blue.bridge.doctor.repo.DoctorUnavailabilityRepository;
+import com.blue.bridge.enums.AppointmentEventType;
 import com.blue.bridge.enums.AppointmentStatus;
 import com.blue.bridge.exceptions.BadRequestException;
 import com.blue.bridge.exceptions.NotFoundException;
 import com.blue.bridge.notification.dto.NotificationDTO;
 import com.blue.bridge.notification.service.NotificationService;
+import com.blue.bridge.patient.dto.PatientDTO;
 import com.blue.bridge.patient.entity.Patient;
 import com.blue.bridge.patient.repo.PatientRepo;
 import com.blue.bridge.res.Response;
+import com.blue.bridge.users.dto.UserDTO;
 import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.service.CurrentActor;
 import com.blue.bridge.users.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,15 +57,26 @@ public class AppointmentServiceImp implements AppointmentService {
     private final UserService userService;
     private final ModelMapper modelMapper;
     private final NotificationService notificationService;
+    private final CurrentActor currentActor;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppointmentBatchInserter appointmentBatchInserter;
+    private final AppointmentBulkUpdater appointmentBulkUpdater;
+    private final DoctorUnavailabilityRepository doctorUnavailabilityRepository;
+
+    @Value("${appointments.changes.settle-seconds:5}")
+    private long changesSettleSeconds;
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
 
     @Override
     public Response<AppointmentDTO> bookAppointment(AppointmentDTO appointmentDTO) {
 
-        User currentUser = userService.getCurrentUser();
-
-        Patient patient = patientRepo.findByUser(currentUser)
+        Patient patient = currentActor.getPatient()
                 .orElseThrow(() -> new NotFoundException("Patient profile required for booking."));
 
         Doctor doctor = doctorRepository.findById(appointmentDTO.getDoctorId())
@@ -56,28 +89,11 @@ public class AppointmentServiceImp implements AppointmentService {
             throw new BadRequestException("Appointments must be booked at least 1 hour in advance.");
         }
 
-        LocalDateTime checkStart = startTime.minusMinutes(60);
-
-        List<Appointment> conflicts = appointmentRepo.findConflictingAppointments(
-                doctor.getId(),
-                checkStart,
-                endTime
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new BadRequestException("Doctor is not available at the requested time. Please check their schedule.");
-        }
-
-        String uuid = UUID.randomUUID().toString().replace("-", "");
-        String uniqueRoomName = "dat-" + uuid.substring(0, 10);
-
-        String meetingLink = "https://meet.jit.si/" + uniqueRoomName;
-
-        log.info("Generated Jitsi meeting link: {}", meetingLink);
+        String meetingLink = newMeetingLink();
 
         Appointment appointment = Appointment.builder()
-                .startTime(appointmentDTO.getStartTime())
-                .endTime(appointmentDTO.getStartTime().plusMinutes(60))
+                .startTime(startTime)
+                .endTime(endTime)
                 .meetingLink(meetingLink)
                 .initialSymptoms(appointmentDTO.getInitialSymptoms())
                 .purposeOfConsultation(appointmentDTO.getPurposeOfConsultation())
@@ -86,7 +102,12 @@ public class AppointmentServiceImp implements AppointmentService {
                 .patient(patient)
                 .build();
 
-        Appointment savedAppointment = appointmentRepo.save(appointment);
+        Appointment savedAppointment = doctorBookingLocks.withLock(doctor.getId(), () -> {
+            checkNotBlocked(doctor.getId(), startTime, endTime);
+            return insertAppointment(appointment);
+        });
+
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.BOOKED, savedAppointment));
 
         sendAppointmentConfirmation(savedAppointment);
 
@@ -96,41 +117,249 @@ public class AppointmentServiceImp implements AppointmentService {
                 .build();
     }
 
+    @Override
+    public Response<AppointmentSeriesDTO> bookAppointmentSeries(AppointmentSeriesDTO seriesDTO) {
+
+        Patient patient = currentActor.getPatient()
+                .orElseThrow(() -> new NotFoundException("Patient profile required for booking."));
+
+        Doctor doctor = doctorRepository.findById(seriesDTO.getDoctorId())
+                .orElseThrow(() -> new NotFoundException("Doctor not found."));
+
+        LocalDateTime firstStart = seriesDTO.getStartTime();
+
+        if (firstStart.isBefore(LocalDateTime.now().plusHours(1))) {
+            throw new BadRequestException("Appointments must be booked at least 1 hour in advance.");
+        }
+
+        int intervalWeeks = seriesDTO.getIntervalWeeks() != null ? seriesDTO.getIntervalWeeks() : 1;
+
+        List<LocalDateTime> startTimes = IntStream.range(0, seriesDTO.getOccurrences())
+                .mapToObj(i -> firstStart.plusWeeks((long) i * intervalWeeks))
+                .toList();
+
+        String seriesId = UUID.randomUUID().toString().replace("-", "");
+
+        List<Appointment> appointments = startTimes.stream()
+                .map(startTime -> Appointment.builder()
+                        .startTime(startTime)
+                        .endTime(startTime.plusMinutes(60))
+                        .meetingLink(newMeetingLink())
+                        .initialSymptoms(seriesDTO.getInitialSymptoms())
+                        .purposeOfConsultation(seriesDTO.getPurposeOfConsultation())
+                        .status(AppointmentStatus.SCHEDULED)
+                        .doctor(doctor)
+                        .patient(patient)
+                        .seriesId(seriesId)
+                        .build())
+                .toList();
+
+        doctorBookingLocks.withLock(doctor.getId(), () -> {
+            checkSeriesAvailability(doctor.getId(), startTimes);
+            insertSeries(appointments);
+            return null;
+        });
+
+        List<AppointmentParties> booked = appointmentRepo.findPartiesBySeriesId(seriesId);
+        booked.forEach(parties -> eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.BOOKED, parties)));
+
+        sendSeriesSummary(patient.getUser(), doctor.getUser(), startTimes, seriesDTO.getPurposeOfConsultation());
+
+        AppointmentSeriesDTO result = AppointmentSeriesDTO.builder()
+                .seriesId(seriesId)
+                .doctorId(doctor.getId())
+                .occurrences(startTimes.size())
+                .intervalWeeks(intervalWeeks)
+                .startTimes(startTimes)
+                .build();
+
+        return Response.<AppointmentSeriesDTO>builder()
+                .statusCode(200)
+                .message("Appointment series booked successfully.")
+                .data(result)
+                .build();
+    }
+
+    @Override
+    public Response<?> cancelAppointmentSeries(String seriesId) {
+
+        User user = userService.getCurrentUser();
+
+        Long patientId = currentActor.getPatient().map(Patient::getId).orElse(-1L);
+        Long doctorId = currentActor.hasRole("DOCTOR")
+                ? currentActor.getDoctor().map(Doctor::getId).orElse(-1L)
+                : -1L;
+
+        List<Long> cancelledIds = appointmentBulkUpdater.cancelSeries(seriesId, patientId, doctorId, LocalDateTime.now());
+
+        if (cancelledIds.isEmpty()) {
+            throw new NotFoundException("No upcoming appointments found for this series.");
+        }
+
+        List<AppointmentRow> cancelled = appointmentRepo.findRowsByIds(cancelledIds);
+        cancelled.forEach(row -> eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.CANCELLED, row)));
+
+        sendSeriesCancellationSummary(cancelled, user);
+
+        return Response.builder()
+                .statusCode(200)
+                .message("Cancelled " + cancelledIds.size() + " upcoming appointments in the series.")
+                .build();
+    }
+
     @Override
     public Response<List<AppointmentDTO>> getMyAppointments()
     {
 
-        User user = userService.getCurrentUser();
+        List<AppointmentDTO> appointmentDTOList = findMyAppointmentRows(null, null, null, null, Limit.unlimited())
+                .stream()
+                .map(this::toAppointmentDTO)
+                .toList();
 
-        Long userId = user.getId();
+        return Response.<List<AppointmentDTO>>builder()
+                .statusCode(200)
+                .message("Appointments retrieved successfully.")
+                .data(appointmentDTOList)
+                .build();
 
-        List<Appointment> appointments;
+    }
 
-        boolean isDoctor = user.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("DOCTOR"));
+    @Override
+    public Response<AppointmentPageDTO> getMyAppointmentsPage(AppointmentStatus status, LocalDateTime from,
+                                                              LocalDateTime to, Long cursor, int size) {
 
-        if (isDoctor) {
-            doctorRepository.findByUser(user)
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        List<AppointmentRow> rows = findMyAppointmentRows(status, from, to, cursor, Limit.of(size));
+
+        Long nextCursor = rows.size() == size ? rows.get(rows.size() - 1).id() : null;
+
+        AppointmentPageDTO page = AppointmentPageDTO.builder()
+                .appointments(rows.stream().map(this::toAppointmentDTO).toList())
+                .nextCursor(nextCursor)
+                .build();
+
+        return Response.<AppointmentPageDTO>builder()
+                .statusCode(200)
+                .message("Appointments retrieved successfully.")
+                .data(page)
+                .build();
+    }
+
+    /**
+     * Returns the caller's appointments changed after the (since, afterId) watermark, cancellations
+     * included, oldest change first. Rows changed in the last few seconds are held back so a
+     * transaction that committed late with an earlier timestamp is not skipped by the watermark.
+     */
+    @Override
+    public Response<AppointmentChangesDTO> getMyAppointmentChanges(LocalDateTime since, Long afterId, int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        LocalDateTime watermark = since;
+        Long watermarkId = afterId != null ? afterId : 0L;
+        LocalDateTime until = LocalDateTime.now().minusSeconds(changesSettleSeconds);
+
+        List<AppointmentRow> rows;
+
+        if (currentActor.hasRole("DOCTOR")) {
+            Doctor doctor = currentActor.getDoctor()
                     .orElseThrow(() -> new NotFoundException("Doctor profile not found"));
 
-            appointments = appointmentRepo.findByDoctor_User_IdOrderByIdDesc(userId);
+            rows = appointmentRepo.findDoctorChanges(doctor.getId(), watermark, watermarkId, until, Limit.of(size));
         } else {
-            patientRepo.findByUser(user)
+            Patient patient = currentActor.getPatient()
                     .orElseThrow(() -> new NotFoundException("Patient profile not found."));
 
-            appointments = appointmentRepo.findByPatient_User_IdOrderByIdDesc(userId);
+            rows = appointmentRepo.findPatientChanges(patient.getId(), watermark, watermarkId, until, Limit.of(size));
         }
 
-        List<AppointmentDTO> appointmentDTOList = appointments.stream()
-                .map(appointment -> modelMapper.map(appointment, AppointmentDTO.class))
-                .toList();
+        if (!rows.isEmpty()) {
+            AppointmentRow last = rows.get(rows.size() - 1);
+            watermark = last.updatedAt();
+            watermarkId = last.id();
+        }
 
-        return Response.<List<AppointmentDTO>>builder()
+        AppointmentChangesDTO changes = AppointmentChangesDTO.builder()
+                .appointments(rows.stream().map(this::toAppointmentDTO).toList())
+                .nextSince(watermark)
+                .nextAfterId(watermarkId)
+                .hasMore(rows.size() == size)
+                .build();
+
+        return Response.<AppointmentChangesDTO>builder()
                 .statusCode(200)
-                .message("Appointments retrieved successfully.")
-                .data(appointmentDTOList)
+                .message("Appointment changes retrieved successfully.")
+                .data(changes)
                 .build();
+    }
+
+    /**
+     * Moves a scheduled appointment to a new slot under the doctor's booking lock, keeping its
+     * meeting link, and sends each party one email with both the old and the new time.
+     */
+    @Override
+    public Response<AppointmentDTO> rescheduleAppointment(Long appointmentId, AppointmentRescheduleDTO rescheduleDTO) {
 
+        User user = userService.getCurrentUser();
+
+        AppointmentRow appointment = appointmentRepo.findRowsByIds(List.of(appointmentId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Appointment not found."));
+
+        boolean isOwner = appointment.patientUserId().equals(user.getId()) ||
+                appointment.doctorUserId().equals(user.getId());
+
+        if (!isOwner) {
+            throw new BadRequestException("You do not have permission to reschedule this appointment.");
+        }
+
+        if (appointment.status() != AppointmentStatus.SCHEDULED) {
+            throw new BadRequestException("Only scheduled appointments can be rescheduled.");
+        }
+
+        LocalDateTime startTime = rescheduleDTO.getStartTime();
+        LocalDateTime endTime = startTime.plusMinutes(60);
+
+        if (startTime.isBefore(LocalDateTime.now().plusHours(1))) {
+            throw new BadRequestException("Appointments must be booked at least 1 hour in advance.");
+        }
+
+        if (startTime.equals(appointment.startTime())) {
+            throw new BadRequestException("The appointment is already booked at the requested time.");
+        }
+
+        int moved = doctorBookingLocks.withLock(appointment.doctorId(), () -> {
+            checkNotBlocked(appointment.doctorId(), startTime, endTime);
+            return moveAppointment(appointmentId, appointment.startTime(), startTime, endTime);
+        });
+
+        if (moved == 0) {
+            throw new BadRequestException("The appointment was changed by another request, please reload and try again.");
+        }
+
+        eventPublisher.publishEvent(AppointmentEvent.rescheduled(appointment, startTime, endTime));
+
+        sendAppointmentReschedule(appointment, startTime, user);
+
+        AppointmentDTO rescheduled = AppointmentDTO.builder()
+                .id(appointmentId)
+                .doctorId(appointment.doctorId())
+                .startTime(startTime)
+                .endTime(endTime)
+                .meetingLink(appointment.meetingLink())
+                .status(AppointmentStatus.SCHEDULED)
+                .build();
+
+        return Response.<AppointmentDTO>builder()
+                .statusCode(200)
+                .message("Appointment rescheduled successfully.")
+                .data(rescheduled)
+                .build();
     }
 
     @Override
@@ -138,20 +367,27 @@ public class AppointmentServiceImp implements AppointmentService {
 
         User user = userService.getCurrentUser();
 
-        Appointment appointment = appointmentRepo.findById(appointmentId)
+        AppointmentRow appointment = appointmentRepo.findRowsByIds(List.of(appointmentId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new NotFoundException("Appointment not found."));
 
-        boolean isOwner = appointment.getPatient().getUser().getId().equals(user.getId()) ||
-                appointment.getDoctor().getUser().getId().equals(user.getId());
+        boolean isOwner = appointment.patientUserId().equals(user.getId()) ||
+                appointment.doctorUserId().equals(user.getId());
 
         if (!isOwner) {
             throw new BadRequestException("You do not have permission to cancel this appointment.");
         }
 
-        appointment.setStatus(AppointmentStatus.CANCELLED);
-        Appointment savedAppointment = appointmentRepo.save(appointment);
+        int cancelled = appointmentRepo.transitionStatus(appointmentId,
+                AppointmentStatus.CANCELLED.sourceNames(), AppointmentStatus.CANCELLED.name());
+
+        if (cancelled == 0) {
+            throw new BadRequestException("Only scheduled appointments can be cancelled.");
+        }
 
-        sendAppointmentCancellation(savedAppointment, user);
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.CANCELLED, appointment));
+
+        sendAppointmentCancellation(appointment, user);
 
         return Response.<AppointmentDTO>builder()
                 .statusCode(200)
@@ -165,19 +401,22 @@ public class AppointmentServiceImp implements AppointmentService {
 
         User currentUser = userService.getCurrentUser();
 
-        Appointment appointment = appointmentRepo.findById(appointmentId)
+        AppointmentParties appointment = appointmentRepo.findPartiesByIds(List.of(appointmentId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new NotFoundException("Appointment not found with ID: " + appointmentId));
 
-        if (!appointment.getDoctor().getUser().getId().equals(currentUser.getId())) {
+        if (!appointment.doctorUserId().equals(currentUser.getId())) {
             throw new BadRequestException("Only the assigned doctor can mark this appointment as complete.");
         }
 
-        appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointment.setEndTime(LocalDateTime.now());
+        int completed = appointmentRepo.markCompleted(appointmentId,
+                AppointmentStatus.COMPLETED.sourceNames(), LocalDateTime.now());
 
-        Appointment updatedAppointment = appointmentRepo.save(appointment);
+        if (completed == 0) {
+            throw new BadRequestException("Only scheduled appointments can be marked as completed.");
+        }
 
-        modelMapper.map(updatedAppointment, AppointmentDTO.class);
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.COMPLETED, appointment));
 
         return Response.builder()
                 .statusCode(200)
@@ -185,6 +424,157 @@ public class AppointmentServiceImp implements AppointmentService {
                 .build();
     }
 
+    /**
+     * Lists the caller's appointments, newest first. Every filter is optional and left out of the
+     * query when null.
+     */
+    private List<AppointmentRow> findMyAppointmentRows(AppointmentStatus status, LocalDateTime from,
+                                                       LocalDateTime to, Long beforeId, Limit limit) {
+
+        if (currentActor.hasRole("DOCTOR")) {
+            Doctor doctor = currentActor.getDoctor()
+                    .orElseThrow(() -> new NotFoundException("Doctor profile not found"));
+
+            return appointmentRepo.findDoctorRows(doctor.getId(), status, from, to, beforeId, limit);
+        }
+
+        Patient patient = currentActor.getPatient()
+                .orElseThrow(() -> new NotFoundException("Patient profile not found."));
+
+        return appointmentRepo.findPatientRows(patient.getId(), status, from, to, beforeId, limit);
+    }
+
+    private AppointmentDTO toAppointmentDTO(AppointmentRow row) {
+
+        DoctorDTO doctor = DoctorDTO.builder()
+                .id(row.doctorId())
+                .firstName(row.doctorFirstName())
+                .lastName(row.doctorLastName())
+                .specialization(row.doctorSpecialization())
+                .licenseNumber(row.doctorLicenseNumber())
+                .user(UserDTO.builder()
+                        .id(row.doctorUserId())
+                        .name(row.doctorUserName())
+                        .email(row.doctorUserEmail())
+                        .profilePictureUrl(row.doctorUserProfilePictureUrl())
+                        .build())
+                .build();
+
+        PatientDTO patient = PatientDTO.builder()
+                .id(row.patientId())
+                .firstName(row.patientFirstName())
+                .lastName(row.patientLastName())
+                .dateOfBirth(row.patientDateOfBirth())
+                .phone(row.patientPhone())
+                .bloodGroup(row.patientBloodGroup())
+                .genotype(row.patientGenotype())
+                .user(UserDTO.builder()
+                        .id(row.patientUserId())
+                        .name(row.patientUserName())
+                        .email(row.patientUserEmail())
+                        .profilePictureUrl(row.patientUserProfilePictureUrl())
+                        .build())
+                .build();
+
+        return AppointmentDTO.builder()
+                .id(row.id())
+                .doctorId(row.doctorId())
+                .purposeOfConsultation(row.purposeOfConsultation())
+                .initialSymptoms(row.initialSymptoms())
+                .startTime(row.startTime())
+                .endTime(row.endTime())
+                .meetingLink(row.meetingLink())
+                .status(row.status())
+                .doctor(doctor)
+                .patient(patient)
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
+    private String newMeetingLink() {
+
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        String uniqueRoomName = "dat-" + uuid.substring(0, 10);
+
+        String meetingLink = "https://meet.jit.si/" + uniqueRoomName;
+
+        log.info("Generated Jitsi meeting link: {}", meetingLink);
+
+        return meetingLink;
+    }
+
+    /**
+     * Checks every occurrence against the doctor's scheduled appointments, loaded with one range
+     * query over the whole series.
+     */
+    private void checkSeriesAvailability(Long doctorId, List<LocalDateTime> startTimes) {
+
+        LocalDateTime from = startTimes.get(0);
+        LocalDateTime to = startTimes.get(startTimes.size() - 1).plusMinutes(60);
+
+        List<AppointmentSlot> scheduled = new ArrayList<>(appointmentRepo.findScheduledSlots(List.of(doctorId), from, to));
+        scheduled.addAll(doctorUnavailabilityRepository.findBlockedSlots(List.of(doctorId), from, to));
+
+        List<String> conflicts = startTimes.stream()
+                .filter(start -> scheduled.stream().anyMatch(slot ->
+                        slot.startTime().isBefore(start.plusMinutes(60)) && slot.endTime().isAfter(start)))
+                .map(start -> start.format(FORMATTER))
+                .toList();
+
+        if (!conflicts.isEmpty()) {
+            throw new BadRequestException("Doctor is not available on: " + String.join("; ", conflicts));
+        }
+    }
+
+    private void checkNotBlocked(Long doctorId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (doctorUnavailabilityRepository.existsOverlapping(doctorId, startTime, endTime)) {
+            throw new BadRequestException("Doctor is not available at the requested time. Please check their schedule.");
+        }
+    }
+
+    private void insertSeries(List<Appointment> appointments) {
+        try {
+            appointmentBatchInserter.insertAll(appointments);
+        } catch (DataIntegrityViolationException e) {
+            if (isSlotConflict(e)) {
+                throw new BadRequestException("Doctor is not available at one of the requested times. Please check their schedule.");
+            }
+            throw e;
+        }
+    }
+
+    private Appointment insertAppointment(Appointment appointment) {
+        try {
+            return appointmentRepo.save(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (isSlotConflict(e)) {
+                throw new BadRequestException("Doctor is not available at the requested time. Please check their schedule.");
+            }
+            throw e;
+        }
+    }
+
+    private int moveAppointment(Long appointmentId, LocalDateTime previousStartTime,
+                                LocalDateTime startTime, LocalDateTime endTime) {
+        try {
+            return appointmentRepo.reschedule(appointmentId, previousStartTime, startTime, endTime);
+        } catch (DataIntegrityViolationException e) {
+            if (isSlotConflict(e)) {
+                throw new BadRequestException("Doctor is not available at the requested time. Please check their schedule.");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void sendAppointmentConfirmation(Appointment appointment) {
 
         User patientUser = appointment.getPatient().getUser();
@@ -230,24 +620,26 @@ public class AppointmentServiceImp implements AppointmentService {
         log.info("Dispatched new appointment email for doctor: {}", doctorUser.getEmail());
     }
 
-    private void sendAppointmentCancellation(Appointment appointment, User cancelingUser){
+    private void sendAppointmentCancellation(AppointmentRow appointment, User cancelingUser){
 
-        User patientUser = appointment.getPatient().getUser();
-        User doctorUser = appointment.getDoctor().getUser();
-
-        boolean isOwner = patientUser.getId().equals(cancelingUser.getId()) || doctorUser.getId().equals(cancelingUser.getId());
-        if (!isOwner) {
-            log.error("Cancellation initiated by user not associated with appointment. User ID: {}", cancelingUser.getId());
-            return;
-        }
+        User patientUser = User.builder()
+                .id(appointment.patientUserId())
+                .name(appointment.patientUserName())
+                .email(appointment.patientUserEmail())
+                .build();
+        User doctorUser = User.builder()
+                .id(appointment.doctorUserId())
+                .name(appointment.doctorUserName())
+                .email(appointment.doctorUserEmail())
+                .build();
 
-        String formattedTime = appointment.getStartTime().format(FORMATTER);
+        String formattedTime = appointment.startTime().format(FORMATTER);
         String cancellingPartyName = cancelingUser.getName();
 
         Map<String, Object> baseVars = new HashMap<>();
         baseVars.put("cancellingPartyName", cancellingPartyName);
         baseVars.put("appointmentTime", formattedTime);
-        baseVars.put("doctorName", appointment.getDoctor().getLastName());
+        baseVars.put("doctorName", appointment.doctorLastName());
         baseVars.put("patientFullName", patientUser.getName());
 
         Map<String, Object> doctorVars = new HashMap<>(baseVars);
@@ -269,7 +661,7 @@ public class AppointmentServiceImp implements AppointmentService {
 
         NotificationDTO patientNotification = NotificationDTO.builder()
                 .recipient(patientUser.getEmail())
-                .subject("Blue Bridge: Appointment CANCELED (ID: " + appointment.getId() + ")")
+                .subject("Blue Bridge: Appointment CANCELED (ID: " + appointment.id() + ")")
                 .templateName("appointment-cancellation")
                 .templateVariables(patientVars)
                 .build();
@@ -277,32 +669,112 @@ public class AppointmentServiceImp implements AppointmentService {
         notificationService.sendEmail(patientNotification, patientUser);
         log.info("Dispatched cancellation email to Patient: {}", patientUser.getEmail());
     }
-}
-
-
-
-
-
-
-
-
-
 
+    private void sendAppointmentReschedule(AppointmentRow appointment, LocalDateTime startTime, User reschedulingUser) {
 
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("reschedulingPartyName", reschedulingUser.getName());
+        baseVars.put("previousAppointmentTime", appointment.startTime().format(FORMATTER));
+        baseVars.put("appointmentTime", startTime.format(FORMATTER));
+        baseVars.put("doctorName", appointment.doctorLastName());
+        baseVars.put("patientFullName", appointment.patientUserName());
+        baseVars.put("meetingLink", appointment.meetingLink());
+
+        List<NotificationDTO> notifications = new ArrayList<>(2);
+
+        notifications.add(rescheduleNotification(baseVars, User.builder()
+                .id(appointment.doctorUserId())
+                .name(appointment.doctorUserName())
+                .email(appointment.doctorUserEmail())
+                .build()));
+
+        notifications.add(rescheduleNotification(baseVars, User.builder()
+                .id(appointment.patientUserId())
+                .name(appointment.patientUserName())
+                .email(appointment.patientUserEmail())
+                .build()));
+
+        notificationService.sendEmails(notifications);
+        log.info("Dispatched reschedule emails for appointment {}", appointment.id());
+    }
 
+    private NotificationDTO rescheduleNotification(Map<String, Object> baseVars, User recipient) {
 
+        Map<String, Object> variables = new HashMap<>(baseVars);
+        variables.put("recipientName", recipient.getName());
 
+        return NotificationDTO.builder()
+                .recipient(recipient.getEmail())
+                .subject("Blue Bridge: Appointment Rescheduled")
+                .templateName("appointment-rescheduled")
+                .templateVariables(variables)
+                .user(recipient)
+                .build();
+    }
 
+    private void sendSeriesSummary(User patientUser, User doctorUser, List<LocalDateTime> startTimes,
+                                   String purposeOfConsultation) {
 
+        List<String> appointmentTimes = startTimes.stream().map(start -> start.format(FORMATTER)).toList();
 
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("appointmentTimes", appointmentTimes);
+        baseVars.put("purposeOfConsultation", purposeOfConsultation);
+        baseVars.put("patientFullName", patientUser.getName());
+        baseVars.put("doctorName", doctorUser.getName());
+        baseVars.put("cancelled", false);
 
+        sendSeriesEmail(patientUser, baseVars, "Blue Bridge: Your Appointment Series is Confirmed");
+        sendSeriesEmail(doctorUser, baseVars, "Blue Bridge: New Appointment Series Booked");
+    }
 
+    private void sendSeriesCancellationSummary(List<AppointmentRow> cancelled, User cancellingUser) {
 
+        AppointmentRow first = cancelled.get(0);
 
+        List<String> appointmentTimes = cancelled.stream()
+                .map(AppointmentRow::startTime)
+                .sorted()
+                .map(start -> start.format(FORMATTER))
+                .toList();
 
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("appointmentTimes", appointmentTimes);
+        baseVars.put("purposeOfConsultation", first.purposeOfConsultation());
+        baseVars.put("patientFullName", first.patientUserName());
+        baseVars.put("doctorName", first.doctorUserName());
+        baseVars.put("cancelled", true);
+        baseVars.put("cancellingPartyName", cancellingUser.getName());
+
+        User patientUser = User.builder()
+                .id(first.patientUserId())
+                .name(first.patientUserName())
+                .email(first.patientUserEmail())
+                .build();
 
+        User doctorUser = User.builder()
+                .id(first.doctorUserId())
+                .name(first.doctorUserName())
+                .email(first.doctorUserEmail())
+                .build();
 
+        sendSeriesEmail(patientUser, baseVars, "Blue Bridge: Appointment Series Cancelled");
+        sendSeriesEmail(doctorUser, baseVars, "Blue Bridge: Appointment Series Cancelled");
+    }
 
+    private void sendSeriesEmail(User recipient, Map<String, Object> baseVars, String subject) {
 
+        Map<String, Object> vars = new HashMap<>(baseVars);
+        vars.put("recipientName", recipient.getName());
 
+        NotificationDTO notification = NotificationDTO.builder()
+                .recipient(recipient.getEmail())
+                .subject(subject)
+                .templateName("appointment-series")
+                .templateVariables(vars)
+                .build();
 
+        notificationService.sendEmail(notification, recipient);
+        log.info("Dispatched appointment series email to: {}", recipient.getEmail());
+    }
+}
@@ -0,0 +1,72 @@
+package com.blue.bridge.appointment.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blue.bridge.doctor.repo.DoctorRepository;
+
+/**
+ * Serializes changes to a doctor's schedule. Within a node, striped locks keyed by doctor id
+ * queue callers up before they open a transaction or take a row lock, and bookings for different
+ * doctors almost always land on different stripes and run in parallel. Across nodes, the action
+ * runs in one transaction that first row-locks the doctor, so a check followed by a write (a
+ * booking against blocked time, or blocked time against bookings) cannot interleave with another
+ * node.
+ *
+ * <p>Waiting callers do still hold a pooled connection: the appointment and doctor endpoints run
+ * with an entity manager open for the whole request (see OpenEntityManagerInViewConfig), and the
+ * lookups made before the lock already bound one to it. A burst of bookings for one doctor
+ * therefore holds up to one connection per waiting request, and the pool size caps how many can
+ * queue on a stripe before other requests start waiting for connections too.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DoctorRepository doctorRepository;
+
+    public DoctorBookingLocks(@Value("${appointments.booking.lock-stripes:64}") int stripeCount,
+                              TransactionTemplate transactionTemplate,
+                              DoctorRepository doctorRepository) {
+        this.transactionTemplate = transactionTemplate;
+        this.doctorRepository = doctorRepository;
+
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+
+        ReentrantLock lock = stripeFor(doctorId);
+        lock.lock();
+
+        try {
+            return transactionTemplate.execute(status -> {
+                doctorRepository.lockForBooking(doctorId);
+                return action.get();
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        int hash = Long.hashCode(doctorId);
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
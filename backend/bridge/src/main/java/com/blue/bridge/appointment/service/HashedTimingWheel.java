@@ -0,0 +1,140 @@
+package com.blue.bridge.appointment.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hashed timing wheel keyed by long ids. Scheduling and cancelling are O(1), and each tick only
+ * walks the one bucket the wheel points at, so the cost does not grow with the number of pending
+ * entries. Entries further away than one revolution simply stay in their bucket until their
+ * deadline comes round.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final Node<T>[] buckets;
+
+    private final int mask;
+
+    private final Map<Long, Node<T>> index = new HashMap<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two.");
+        }
+
+        this.tickMillis = tickMillis;
+        this.buckets = (Node<T>[]) new Node[wheelSize];
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules the payload to expire at {@code deadlineMillis}, replacing any entry already
+     * scheduled under the same key. Deadlines in the past expire on the next tick.
+     */
+    public synchronized void schedule(long key, long deadlineMillis, T payload) {
+
+        cancel(key);
+
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+
+        Node<T> node = new Node<>(key, deadlineTick, payload);
+        int bucket = (int) (deadlineTick & mask);
+
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+        buckets[bucket] = node;
+
+        index.put(key, node);
+    }
+
+    public synchronized boolean cancel(long key) {
+
+        Node<T> node = index.remove(key);
+
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the payloads that expired on the way.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            Node<T> node = buckets[(int) (currentTick & mask)];
+
+            while (node != null) {
+                Node<T> next = node.next;
+
+                if (node.deadlineTick <= currentTick) {
+                    index.remove(node.key);
+                    unlink(node);
+                    expired.add(node.payload);
+                }
+
+                node = next;
+            }
+        }
+
+        return expired;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    private void unlink(Node<T> node) {
+
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            buckets[(int) (node.deadlineTick & mask)] = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> {
+
+        private final long key;
+
+        private final long deadlineTick;
+
+        private final T payload;
+
+        private Node<T> previous;
+
+        private Node<T> next;
+
+        private Node(long key, long deadlineTick, T payload) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.blue.bridge.appointment.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.blue.bridge.exceptions.BadRequestException;
+
+/**
+ * Remembers the result of requests sent with an Idempotency-Key header, per user, so a retried
+ * request gets the original response back instead of running again. Duplicates that arrive while
+ * the first request is still running wait for its result, and reusing a key for a different
+ * request is a bad request. Failed requests are forgotten so they can be retried.
+ *
+ * <p>The in-memory store only sees the requests of its own node, so deployments with more than
+ * one node behind a load balancer without sticky sessions set idempotency.store=jdbc.
+ */
+public interface IdempotencyStore {
+
+    int MAX_KEY_LENGTH = 128;
+
+    /**
+     * Runs the action, or returns the result of the earlier request with the same key. Without a
+     * key the action simply runs.
+     */
+    <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action);
+
+    static String scopedKey(String scope, String idempotencyKey) {
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userName = authentication != null ? authentication.getName() : "anonymous";
+
+        return scope + ":" + userName + ":" + idempotencyKey;
+    }
+}
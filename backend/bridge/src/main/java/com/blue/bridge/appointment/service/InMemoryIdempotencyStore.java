@@ -0,0 +1,131 @@
+package com.blue.bridge.appointment.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.exceptions.ServiceUnavailableException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps idempotent results in this node's memory. Completed results expire after the configured
+ * TTL, and once the store holds max-entries keys the oldest key is dropped for each new one.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private Map<String, Entry> entries;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    @PostConstruct
+    void init() {
+        // Insertion order, so the eldest entry is the oldest key.
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = IdempotencyStore.scopedKey(scope, idempotencyKey);
+        Entry entry = new Entry(request, new CompletableFuture<>());
+
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+
+            if (existing == null) {
+                break;
+            }
+
+            if (existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+
+            if (!Objects.equals(existing.request, request)) {
+                throw new BadRequestException("Idempotency-Key was already used for a different request.");
+            }
+
+            return (T) await(existing.result);
+        }
+
+        try {
+            T result = action.get();
+            entry.expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Request interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object request;
+
+        private final CompletableFuture<Object> result;
+
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(Object request, CompletableFuture<Object> result) {
+            this.request = request;
+            this.result = result;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.blue.bridge.appointment.service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.blue.bridge.appointment.dto.IdempotentResult;
+import com.blue.bridge.appointment.repo.IdempotencyRecordRepo;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.exceptions.ServiceUnavailableException;
+import com.blue.bridge.security.TokenHasher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Idempotent results shared by every node through the idempotency_records table, so a retry
+ * that lands on another node still gets the original response. The first request claims the key
+ * with a single upsert and stores its response as JSON; duplicates poll the row until it is
+ * there. A claim that is never completed, because its node died, lapses after the lease.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_MILLIS = 50;
+
+    private final IdempotencyRecordRepo idempotencyRecordRepo;
+
+    private final ObjectMapper objectMapper;
+
+    private final TokenHasher tokenHasher;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    @Value("${idempotency.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Override
+    public <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = IdempotencyStore.scopedKey(scope, idempotencyKey);
+        String requestHash = tokenHasher.hash(objectMapper.writeValueAsString(request));
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+
+        while (true) {
+            long now = System.currentTimeMillis();
+
+            if (idempotencyRecordRepo.claim(key, requestHash, now + TimeUnit.SECONDS.toMillis(leaseSeconds), now) > 0) {
+                return run(key, requestHash, action);
+            }
+
+            Optional<IdempotentResult> existing = idempotencyRecordRepo.findResult(key);
+
+            if (existing.isEmpty()) {
+                // The other request failed or expired in between; try to claim the key again.
+                continue;
+            }
+
+            if (!existing.get().requestHash().equals(requestHash)) {
+                throw new BadRequestException("Idempotency-Key was already used for a different request.");
+            }
+
+            if (existing.get().response() != null) {
+                return read(existing.get());
+            }
+
+            if (now >= deadline) {
+                throw new ServiceUnavailableException("A request with this Idempotency-Key is still being processed.");
+            }
+
+            pause();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void deleteExpiredRecords() {
+        idempotencyRecordRepo.deleteExpired(System.currentTimeMillis());
+    }
+
+    private <T> T run(String key, String requestHash, Supplier<T> action) {
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            idempotencyRecordRepo.release(key, requestHash);
+            throw e;
+        }
+
+        int stored = idempotencyRecordRepo.complete(key, requestHash,
+                objectMapper.writeValueAsString(result),
+                result != null ? result.getClass().getName() : null,
+                System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes));
+
+        if (stored == 0) {
+            log.warn("Idempotency key {} outlived its lease, the result was not stored", key);
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(IdempotentResult stored) {
+
+        if (stored.responseType() == null) {
+            return null;
+        }
+
+        try {
+            Class<?> type = ClassUtils.forName(stored.responseType(), getClass().getClassLoader());
+            return (T) objectMapper.readValue(stored.response(), type);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Stored idempotent response has an unknown type " + stored.responseType(), e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Request interrupted.");
+        }
+    }
+}
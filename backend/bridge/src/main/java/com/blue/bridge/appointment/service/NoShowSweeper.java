@@ -0,0 +1,108 @@
+package com.blue.bridge.appointment.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blue.bridge.appointment.dto.AppointmentParties;
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.appointment.repo.AppointmentBulkUpdater;
+import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.enums.AppointmentEventType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves appointments that are still SCHEDULED well after their end time to NO_SHOW, in small
+ * batches. Each batch runs in its own transaction guarded by a transaction-scoped advisory lock,
+ * so only one node sweeps at a time and the lock is released with the transaction.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class NoShowSweeper {
+
+    private static final long ADVISORY_LOCK_KEY = 0x6E6F5F73686F77L;
+
+    private final AppointmentRepo appointmentRepo;
+
+    private final AppointmentBulkUpdater appointmentBulkUpdater;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${appointments.no-show.batch-size:500}")
+    private int batchSize;
+
+    @Value("${appointments.no-show.grace-minutes:30}")
+    private long graceMinutes;
+
+    @Value("${appointments.no-show.time-budget-ms:5000}")
+    private long timeBudgetMs;
+
+    private Counter transitionedRows;
+
+    private Timer runTimer;
+
+    @PostConstruct
+    private void init() {
+        this.transitionedRows = Counter.builder("appointments.no_show.transitioned").register(meterRegistry);
+        this.runTimer = Timer.builder("appointments.no_show.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.no-show.interval-ms:300000}", initialDelay = 60_000)
+    public void markNoShows() {
+        runTimer.record(this::markWithinBudget);
+    }
+
+    private void markWithinBudget() {
+
+        long deadline = System.currentTimeMillis() + timeBudgetMs;
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        int total = 0;
+        List<AppointmentParties> batch;
+
+        do {
+            batch = transactionTemplate.execute(status -> markBatch(cutoff));
+
+            if (batch == null) {
+                log.debug("No-show sweep is running on another node, skipping");
+                break;
+            }
+
+            total += batch.size();
+            transitionedRows.increment(batch.size());
+            batch.forEach(parties ->
+                    eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.NO_SHOW, parties)));
+
+        } while (batch.size() == batchSize && System.currentTimeMillis() < deadline);
+
+        if (total > 0) {
+            log.info("Marked {} past-due appointments as no-show", total);
+        }
+    }
+
+    private List<AppointmentParties> markBatch(LocalDateTime cutoff) {
+
+        if (!appointmentRepo.tryAdvisoryXactLock(ADVISORY_LOCK_KEY)) {
+            return null;
+        }
+
+        List<Long> ids = appointmentBulkUpdater.markNoShows(cutoff, batchSize);
+
+        return ids.isEmpty() ? List.of() : appointmentRepo.findPartiesByIds(ids);
+    }
+}
@@ -0,0 +1,186 @@
+package com.blue.bridge.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres LISTEN/NOTIFY for the node-local caches that other nodes have to keep in step with.
+ * Each node keeps one dedicated connection listening on every subscribed channel. It is opened
+ * straight from the driver rather than taken from the pool, so it neither holds a pool slot for
+ * the life of the node nor gets closed under the listener by the pool's max-lifetime. When the
+ * connection drops, every subscriber is told about the gap, since notifications may have been
+ * missed while it was down.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseNotifications implements SmartInitializingSingleton {
+
+    private static final int POLL_TIMEOUT_MS = 10_000;
+
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private static final int PUBLISH_QUEUE_CAPACITY = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(PUBLISH_QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "database-notification-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @Value("${notifications.listen:${jwt.revocation.listen:true}}")
+    private boolean listen;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    /**
+     * Registers the handler for a channel. Subscribers register while the context starts; the
+     * listener only starts listening once every singleton is in place.
+     */
+    public void subscribe(String channel, Consumer<String> handler, Runnable onGap) {
+        subscriptions.put(channel, new Subscription(handler, onGap));
+    }
+
+    public void publish(String channel, String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+    }
+
+    /**
+     * Sends the notification from a background thread, for callers that may already hold a pool
+     * connection through an open entity manager and must not wait for a second one. Only for
+     * channels whose subscribers have another way to catch up, since a notification that cannot
+     * be queued or sent is dropped.
+     */
+    public void publishAsync(String channel, String payload) {
+        try {
+            publisher.execute(() -> {
+                try {
+                    publish(channel, payload);
+                } catch (DataAccessException e) {
+                    log.warn("Could not send notification on channel {}: {}", channel, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Notification queue is full, dropping notification on channel {}", channel);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        if (!listen || subscriptions.isEmpty()) {
+            return;
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "database-notification-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    private void stop() {
+        running = false;
+        publisher.shutdown();
+
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : subscriptions.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for notifications on channels {}", subscriptions.keySet());
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+
+                log.error("Notification listener failed, reconnecting: {}", e.getMessage());
+                subscriptions.values().forEach(subscription -> subscription.onGap().run());
+
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+
+        Subscription subscription = subscriptions.get(notification.getName());
+
+        if (subscription == null) {
+            return;
+        }
+
+        try {
+            subscription.handler().accept(notification.getParameter());
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply notification on channel {}: {}", notification.getName(), e.getMessage());
+        }
+    }
+
+    private record Subscription(Consumer<String> handler, Runnable onGap) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.blue.bridge.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the Postgres-specific schema pieces that Hibernate's ddl-auto cannot express.
+ * Every statement is idempotent and runs once all singletons exist, so after Hibernate has
+ * created or updated the tables but before the web server starts taking bookings. A failing
+ * statement is logged, but startup is aborted if the no-overlap constraint that guards against
+ * double bookings cannot be confirmed afterwards.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final String NO_OVERLAP_CONSTRAINT = "appointments_no_overlap";
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS btree_gist",
+            """
+            DO $$
+            BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'appointments_no_overlap') THEN
+                    ALTER TABLE appointments ADD CONSTRAINT appointments_no_overlap
+                        EXCLUDE USING gist (doctor_id WITH =, tsrange(start_time, end_time) WITH &&)
+                        WHERE (status = 'SCHEDULED');
+                END IF;
+            END $$
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_appointments_scheduled_end_time ON appointments (end_time) " +
+                    "WHERE status = 'SCHEDULED'",
+            // Rows that predate the column sort before every real change, so a first sync returns them.
+            "UPDATE appointments SET updated_at = TIMESTAMP '1970-01-01 00:00:00' WHERE updated_at IS NULL",
+            "UPDATE appointments SET version = 0 WHERE version IS NULL"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                log.error("Failed to apply schema statement: {}", e.getMostSpecificCause().getMessage());
+            }
+        }
+
+        Boolean constraintExists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, NO_OVERLAP_CONSTRAINT);
+
+        if (!Boolean.TRUE.equals(constraintExists)) {
+            throw new IllegalStateException("Constraint " + NO_OVERLAP_CONSTRAINT +
+                    " is missing, refusing to start without double-booking protection.");
+        }
+    }
+}
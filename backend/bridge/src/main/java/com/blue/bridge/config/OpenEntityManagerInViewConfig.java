@@ -0,0 +1,31 @@
+package com.blue.bridge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps an entity manager open for the whole request, like spring.jpa.open-in-view, except on
+ * the auth endpoints. An open entity manager holds on to its connection once it has used one,
+ * so a login waiting for its password hash would pin a pool connection for the whole wait and
+ * a login storm would drain the pool before the hashing queue ever filled up.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/api/auth/**");
+    }
+}
@@ -11,5 +11,7 @@ public interface ConsultationRepo extends JpaRepository<Consultation, Long> {
 
     Optional<Consultation> findByAppointmentId(Long appointmentId);
 
+    boolean existsByAppointmentId(Long appointmentId);
+
     List<Consultation> findByAppointmentPatientIdOrderByConsultationDateDesc(Long patientId);
 }
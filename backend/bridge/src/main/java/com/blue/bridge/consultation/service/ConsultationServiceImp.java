@@ -1,10 +1,12 @@
 package com.blue.bridge.consultation.service;
 
-import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.event.AppointmentEvent;
 import com.blue.bridge.appointment.repo.AppointmentRepo;
 import com.blue.bridge.consultation.dto.ConsultationDTO;
 import com.blue.bridge.consultation.entity.Consultation;
 import com.blue.bridge.consultation.repo.ConsultationRepo;
+import com.blue.bridge.enums.AppointmentEventType;
 import com.blue.bridge.enums.AppointmentStatus;
 import com.blue.bridge.exceptions.BadRequestException;
 import com.blue.bridge.exceptions.NotFoundException;
@@ -12,11 +14,14 @@ import com.blue.bridge.patient.entity.Patient;
 import com.blue.bridge.patient.repo.PatientRepo;
 import com.blue.bridge.res.Response;
 import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.service.CurrentActor;
 import com.blue.bridge.users.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,6 +36,9 @@ public class ConsultationServiceImp implements ConsultationService {
     private final UserService userService;
     private final ModelMapper modelMapper;
     private final PatientRepo patientRepo;
+    private final CurrentActor currentActor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public Response<ConsultationDTO> createConsultation(ConsultationDTO consultationDTO) {
@@ -38,35 +46,63 @@ public class ConsultationServiceImp implements ConsultationService {
         User user = userService.getCurrentUser();
         Long appointmentId = consultationDTO.getAppointmentId();
 
-        Appointment appointment = appointmentRepo.findById(appointmentId)
+        AppointmentRow appointment = appointmentRepo.findRowsByIds(List.of(appointmentId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new NotFoundException("Appointment not found."));
 
-        if (!appointment.getDoctor().getUser().getId().equals(user.getId())) {
+        if (!appointment.doctorUserId().equals(user.getId())) {
             throw new BadRequestException("You are not authorized to create notes for this consultation.");
         }
-        appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointmentRepo.save(appointment);
 
-        if (consultationRepo.findByAppointmentId(appointmentId).isPresent()) {
+        if (consultationRepo.existsByAppointmentId(appointmentId)) {
             throw new BadRequestException("Consultation notes already exist for this appointment.");
         }
 
+        // The transition and the notes commit together, so a failed insert never leaves the
+        // appointment completed without its notes. Listeners only hear about committed changes.
+        boolean completed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                completeWithNotes(consultationDTO, appointment)));
+
+        if (completed) {
+            eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.COMPLETED, appointment));
+        }
+
+        return Response.<ConsultationDTO>builder()
+                .statusCode(200)
+                .message("Consultation notes saved successfully.")
+                .build();
+
+    }
+
+    private boolean completeWithNotes(ConsultationDTO consultationDTO, AppointmentRow appointment) {
+
+        Long appointmentId = appointment.id();
+
+        boolean completed = appointmentRepo.transitionStatus(appointmentId,
+                AppointmentStatus.COMPLETED.sourceNames(), AppointmentStatus.COMPLETED.name()) == 1;
+
+        if (!completed && appointment.status() != AppointmentStatus.COMPLETED) {
+            throw new BadRequestException("Consultation notes can only be added to scheduled or completed appointments.");
+        }
+
         Consultation consultation = Consultation.builder()
                 .consultationDate(LocalDateTime.now())
                 .subjectiveNotes(consultationDTO.getSubjectiveNotes())
                 .objectiveFindings(consultationDTO.getObjectiveFindings())
                 .assessment(consultationDTO.getAssessment())
                 .plan(consultationDTO.getPlan())
-                .appointment(appointment)
+                .appointment(appointmentRepo.getReferenceById(appointmentId))
                 .build();
 
         consultationRepo.save(consultation);
 
-        return Response.<ConsultationDTO>builder()
-                .statusCode(200)
-                .message("Consultation notes saved successfully.")
-                .build();
+        // The notes are part of what delta sync clients fetch for the appointment. A transition
+        // has already bumped updated_at in this transaction.
+        if (!completed) {
+            appointmentRepo.touch(appointmentId);
+        }
 
+        return completed;
     }
 
     @Override
@@ -90,7 +126,7 @@ public class ConsultationServiceImp implements ConsultationService {
         User user = userService.getCurrentUser();
 
         if (patientId == null) {
-            Patient currentPatient = patientRepo.findByUser(user)
+            Patient currentPatient = currentActor.getPatient()
                     .orElseThrow(() -> new BadRequestException("Patient profile not found for the current patient."));
             patientId = currentPatient.getId();
         }
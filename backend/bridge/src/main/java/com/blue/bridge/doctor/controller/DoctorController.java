@@ -1,14 +1,19 @@
 package com.blue.bridge.doctor.controller;
 
+import com.blue.bridge.doctor.dto.AvailabilitySlotDTO;
 import com.blue.bridge.doctor.dto.DoctorDTO;
+import com.blue.bridge.doctor.dto.DoctorUnavailabilityDTO;
 import com.blue.bridge.doctor.service.DoctorService;
 import com.blue.bridge.enums.Specialization;
 import com.blue.bridge.res.Response;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,11 +35,37 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.updateDoctorProfile(doctorDTO));
     }
 
+    @PostMapping("/me/unavailability")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    public ResponseEntity<Response<DoctorUnavailabilityDTO>> blockMyTimeRange(
+            @RequestBody @Valid DoctorUnavailabilityDTO unavailabilityDTO) {
+
+        return ResponseEntity.ok(doctorService.blockTimeRange(null, unavailabilityDTO));
+    }
+
+    @PostMapping("/{doctorId}/unavailability")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response<DoctorUnavailabilityDTO>> blockTimeRange(
+            @PathVariable Long doctorId,
+            @RequestBody @Valid DoctorUnavailabilityDTO unavailabilityDTO) {
+
+        return ResponseEntity.ok(doctorService.blockTimeRange(doctorId, unavailabilityDTO));
+    }
+
     @GetMapping("/{doctorId}")
     public ResponseEntity<Response<?>> getDoctorId(@PathVariable Long doctorId) {
         return ResponseEntity.ok(doctorService.getDoctorById(doctorId));
     }
 
+    @GetMapping("/{doctorId}/availability")
+    public ResponseEntity<Response<List<AvailabilitySlotDTO>>> getDoctorAvailability(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(doctorService.getDoctorAvailability(doctorId, from, to));
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<Response<List<DoctorDTO>>> searchDoctorsBySpecialization(
             @RequestParam(required = true)Specialization specialization) {
@@ -42,6 +73,15 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.searchDoctorsBySpecialization(specialization));
     }
 
+    @GetMapping("/earliest-available")
+    public ResponseEntity<Response<List<AvailabilitySlotDTO>>> findEarliestAvailable(
+            @RequestParam Specialization specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(doctorService.findEarliestAvailable(specialization, from, limit));
+    }
+
     @GetMapping("/specializations")
     public ResponseEntity<Response<List<Specialization>>> getAllSpecializationsEnums() {
         return ResponseEntity.ok(doctorService.getAllSpecializationEnums());
@@ -0,0 +1,37 @@
+package com.blue.bridge.doctor.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DoctorUnavailabilityDTO {
+
+    private Long id;
+
+    private Long doctorId;
+
+    @NotNull(message = "Start time of the unavailable period is required.")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time of the unavailable period is required.")
+    private LocalDateTime endTime;
+
+    @Size(max = 255, message = "Reason must be at most 255 characters.")
+    private String reason;
+
+    private Integer cancelledAppointments;
+}
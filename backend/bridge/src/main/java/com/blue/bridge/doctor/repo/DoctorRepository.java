@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import com.blue.bridge.users.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.blue.bridge.doctor.entity.Doctor;
 import com.blue.bridge.enums.Specialization;
@@ -14,4 +16,14 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     Optional<Doctor> findByUser(User user);
 
     List<Doctor> findBySpecialization(Specialization specialization);
+
+    @Query("SELECT d.id FROM Doctor d WHERE d.specialization = :specialization ORDER BY d.id")
+    List<Long> findIdsBySpecialization(@Param("specialization") Specialization specialization);
+
+    /**
+     * Row-locks the doctor until the surrounding transaction ends, so bookings and blocked time
+     * for the same doctor are serialized across nodes. Must run inside the caller's transaction.
+     */
+    @Query(value = "SELECT id FROM doctors WHERE id = :doctorId FOR NO KEY UPDATE", nativeQuery = true)
+    Long lockForBooking(@Param("doctorId") Long doctorId);
 }
@@ -0,0 +1,36 @@
+package com.blue.bridge.doctor.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.blue.bridge.appointment.dto.AppointmentSlot;
+import com.blue.bridge.doctor.entity.DoctorUnavailability;
+
+public interface DoctorUnavailabilityRepository extends JpaRepository<DoctorUnavailability, Long> {
+
+    @Query("SELECT COUNT(u) > 0 FROM DoctorUnavailability u " +
+            "WHERE u.doctor.id = :doctorId " +
+            "AND u.startTime < :to " +
+            "AND u.endTime > :from")
+    boolean existsOverlapping(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT new com.blue.bridge.appointment.dto.AppointmentSlot(u.doctor.id, u.startTime, u.endTime) " +
+            "FROM DoctorUnavailability u " +
+            "WHERE u.doctor.id IN :doctorIds " +
+            "AND u.startTime < :to " +
+            "AND u.endTime > :from")
+    List<AppointmentSlot> findBlockedSlots(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
@@ -0,0 +1,390 @@
+package com.blue.bridge.doctor.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.appointment.dto.AppointmentSlot;
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.config.DatabaseNotifications;
+import com.blue.bridge.doctor.dto.AvailabilitySlotDTO;
+import com.blue.bridge.doctor.repo.DoctorUnavailabilityRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps, per doctor and per day, a bitset of the quarter hours taken by scheduled appointments
+ * and blocked time, so availability can be answered without querying the appointments table.
+ * Days are loaded lazily on first use, reloaded once older than the configured TTL, and the whole
+ * index never holds more than the configured number of days, dropping the oldest ones first.
+ *
+ * <p>Every change made on this node is also announced on the doctor_availability notification
+ * channel and the other nodes drop the affected days, so a slot booked on another node stops
+ * being offered here right away instead of for up to a TTL. When the listener connection drops
+ * the whole index is dropped, and a change whose announcement could not be sent is only picked
+ * up once the TTL runs out.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DoctorAvailabilityIndex {
+
+    public static final int APPOINTMENT_MINUTES = 60;
+
+    private static final int QUARTER_MINUTES = 15;
+
+    private static final int QUARTERS_PER_DAY = 24 * 60 / QUARTER_MINUTES;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final String CHANNEL = "doctor_availability";
+
+    private final AppointmentRepo appointmentRepo;
+
+    private final DoctorUnavailabilityRepository doctorUnavailabilityRepository;
+
+    private final DatabaseNotifications databaseNotifications;
+
+    /**
+     * Sent along with every change, so a node skips its own announcements.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<DayKey, DaySchedule> days = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped for a doctor before each event is applied, so a load that read the tables before the
+     * event can tell and does not overwrite the event with its older view.
+     */
+    private final Map<Long, Long> doctorVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Each day costs about 150 bytes, so the default of roughly 36 MB covers the 60-day search
+     * horizon for some 4000 doctors of one specialization without evicting mid-search.
+     */
+    @Value("${appointments.availability.max-days:250000}")
+    private int maxDays;
+
+    @Value("${appointments.availability.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @PostConstruct
+    private void subscribe() {
+        databaseNotifications.subscribe(CHANNEL, this::applyRemoteChange, days::clear);
+    }
+
+    /**
+     * Returns the hour-long slots starting on the hour between {@code from} and {@code to} that
+     * do not overlap any scheduled appointment of the doctor.
+     */
+    public List<AvailabilitySlotDTO> findFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to) {
+
+        preload(List.of(doctorId), from.toLocalDate(), to.toLocalDate());
+
+        List<AvailabilitySlotDTO> slots = new ArrayList<>();
+
+        for (LocalDateTime start = firstSlotAtOrAfter(from);
+             !start.plusMinutes(APPOINTMENT_MINUTES).isAfter(to);
+             start = start.plusMinutes(APPOINTMENT_MINUTES)) {
+
+            if (isFree(doctorId, start)) {
+                slots.add(AvailabilitySlotDTO.builder()
+                        .doctorId(doctorId)
+                        .startTime(start)
+                        .endTime(start.plusMinutes(APPOINTMENT_MINUTES))
+                        .build());
+            }
+        }
+
+        return slots;
+    }
+
+    /**
+     * Whether the hour starting at {@code start} is free for the doctor. Days that are not
+     * indexed yet are loaded on the spot.
+     */
+    public boolean isFree(Long doctorId, LocalDateTime start) {
+
+        LocalDateTime end = start.plusMinutes(APPOINTMENT_MINUTES);
+
+        for (LocalDateTime quarter = floorToQuarter(start); quarter.isBefore(end); quarter = quarter.plusMinutes(QUARTER_MINUTES)) {
+
+            DaySchedule schedule = scheduleFor(doctorId, quarter.toLocalDate());
+
+            if (schedule.isTaken(quarterOfDay(quarter))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Loads every missing or stale day between {@code fromDay} and {@code toDay} for the given
+     * doctors, with one query per batch of doctors.
+     */
+    public void preload(Collection<Long> doctorIds, LocalDate fromDay, LocalDate toDay) {
+
+        long now = System.currentTimeMillis();
+        List<Long> doctorsToLoad = new ArrayList<>();
+
+        for (Long doctorId : doctorIds) {
+            for (LocalDate day = fromDay; !day.isAfter(toDay); day = day.plusDays(1)) {
+                DaySchedule schedule = days.get(new DayKey(doctorId, day.toEpochDay()));
+
+                if (schedule == null || isStale(schedule, now)) {
+                    doctorsToLoad.add(doctorId);
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < doctorsToLoad.size(); i += LOAD_BATCH_SIZE) {
+            load(doctorsToLoad.subList(i, Math.min(i + LOAD_BATCH_SIZE, doctorsToLoad.size())), fromDay, toDay);
+        }
+    }
+
+    @EventListener
+    public void onAppointmentEvent(AppointmentEvent event) {
+
+        doctorVersions.merge(event.doctorId(), 1L, Long::sum);
+
+        switch (event.type()) {
+            case BOOKED -> markTaken(event.doctorId(), event.startTime(), event.endTime());
+            case RESCHEDULED -> {
+                drop(event.doctorId(), event.previousStartTime(), event.previousEndTime());
+                markTaken(event.doctorId(), event.startTime(), event.endTime());
+                announce(event.doctorId(), event.previousStartTime(), event.previousEndTime());
+            }
+            default -> drop(event.doctorId(), event.startTime(), event.endTime());
+        }
+
+        announce(event.doctorId(), event.startTime(), event.endTime());
+    }
+
+    public int size() {
+        return days.size();
+    }
+
+    private DaySchedule scheduleFor(Long doctorId, LocalDate day) {
+
+        DaySchedule schedule = days.get(new DayKey(doctorId, day.toEpochDay()));
+
+        if (schedule == null || isStale(schedule, System.currentTimeMillis())) {
+            schedule = load(List.of(doctorId), day, day).get(new DayKey(doctorId, day.toEpochDay()));
+        }
+
+        return schedule;
+    }
+
+    /**
+     * Reads the days from the tables and caches them, except for doctors that had an event while
+     * the read was running. Their days are returned to the caller but reloaded on the next read.
+     */
+    private Map<DayKey, DaySchedule> load(Collection<Long> doctorIds, LocalDate fromDay, LocalDate toDay) {
+
+        long loadedAt = System.currentTimeMillis();
+
+        Map<Long, Long> versionsAtLoad = new HashMap<>();
+        Map<DayKey, DaySchedule> loaded = new HashMap<>();
+
+        for (Long doctorId : doctorIds) {
+            versionsAtLoad.put(doctorId, doctorVersions.getOrDefault(doctorId, 0L));
+            for (LocalDate day = fromDay; !day.isAfter(toDay); day = day.plusDays(1)) {
+                loaded.put(new DayKey(doctorId, day.toEpochDay()), new DaySchedule(loadedAt));
+            }
+        }
+
+        LocalDateTime from = fromDay.atStartOfDay();
+        LocalDateTime to = toDay.plusDays(1).atStartOfDay();
+
+        List<AppointmentSlot> appointments = new ArrayList<>(appointmentRepo.findScheduledSlots(doctorIds, from, to));
+        appointments.addAll(doctorUnavailabilityRepository.findBlockedSlots(doctorIds, from, to));
+
+        for (AppointmentSlot appointment : appointments) {
+            forEachQuarter(appointment.startTime(), appointment.endTime(), (epochDay, quarter) -> {
+                DaySchedule schedule = loaded.get(new DayKey(appointment.doctorId(), epochDay));
+                if (schedule != null) {
+                    schedule.take(quarter);
+                }
+            });
+        }
+
+        makeRoomFor(loaded.size());
+
+        for (Long doctorId : doctorIds) {
+            // Checked and stored under the doctor's version entry, so an event cannot slip in between.
+            doctorVersions.compute(doctorId, (id, version) -> {
+                if (versionsAtLoad.get(id).equals(version != null ? version : 0L)) {
+                    for (LocalDate day = fromDay; !day.isAfter(toDay); day = day.plusDays(1)) {
+                        DayKey key = new DayKey(id, day.toEpochDay());
+                        days.put(key, loaded.get(key));
+                    }
+                }
+                return version;
+            });
+        }
+
+        return loaded;
+    }
+
+    private void markTaken(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        forEachQuarter(start, end, (epochDay, quarter) -> {
+            DaySchedule schedule = days.get(new DayKey(doctorId, epochDay));
+            if (schedule != null) {
+                schedule.take(quarter);
+            }
+        });
+    }
+
+    /**
+     * A freed slot may share its edge quarters with a neighbouring appointment, so the affected
+     * days are dropped and rebuilt from the table on the next read instead of clearing bits.
+     */
+    public void invalidate(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        drop(doctorId, start, end);
+        announce(doctorId, start, end);
+    }
+
+    private void drop(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        dropDays(doctorId, start.toLocalDate().toEpochDay(), end.toLocalDate().toEpochDay());
+    }
+
+    private void dropDays(Long doctorId, long fromEpochDay, long toEpochDay) {
+        for (long epochDay = fromEpochDay; epochDay <= toEpochDay; epochDay++) {
+            days.remove(new DayKey(doctorId, epochDay));
+        }
+    }
+
+    /**
+     * Sent in the background: the caller is usually a booking request that already holds a pool
+     * connection, and waiting for a second one under load can drain the pool.
+     */
+    private void announce(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        databaseNotifications.publishAsync(CHANNEL, nodeId + ":" + doctorId + ":"
+                + start.toLocalDate().toEpochDay() + ":" + end.toLocalDate().toEpochDay());
+    }
+
+    /**
+     * Drops the days another node changed. The doctor's version is bumped first, so a load that
+     * read the tables before the change does not store its older view.
+     */
+    private void applyRemoteChange(String payload) {
+
+        String[] parts = payload.split(":");
+
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed availability notification: {}", payload);
+            return;
+        }
+
+        if (parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            Long doctorId = Long.valueOf(parts[1]);
+            doctorVersions.merge(doctorId, 1L, Long::sum);
+            dropDays(doctorId, Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed availability notification: {}", payload);
+        }
+    }
+
+    private void makeRoomFor(int count) {
+
+        if (days.size() + count <= maxDays) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        days.values().removeIf(schedule -> isStale(schedule, now));
+
+        int excess = days.size() + count - maxDays;
+
+        if (excess > 0) {
+            // A tenth of the index goes with them, so the next loads do not sort it all over again.
+            List<DayKey> oldest = days.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                    .limit(excess + maxDays / 10)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            log.info("Availability index is full ({} days), evicting the {} oldest", days.size(), oldest.size());
+            oldest.forEach(days::remove);
+        }
+    }
+
+    private boolean isStale(DaySchedule schedule, long now) {
+        return now - schedule.loadedAt() > ttlMinutes * 60_000;
+    }
+
+    private static void forEachQuarter(LocalDateTime start, LocalDateTime end, QuarterConsumer consumer) {
+        for (LocalDateTime quarter = floorToQuarter(start); quarter.isBefore(end); quarter = quarter.plusMinutes(QUARTER_MINUTES)) {
+            consumer.accept(quarter.toLocalDate().toEpochDay(), quarterOfDay(quarter));
+        }
+    }
+
+    private static LocalDateTime firstSlotAtOrAfter(LocalDateTime time) {
+        LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        return hour.isBefore(time) ? hour.plusHours(1) : hour;
+    }
+
+    private static LocalDateTime floorToQuarter(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % QUARTER_MINUTES);
+    }
+
+    private static int quarterOfDay(LocalDateTime time) {
+        LocalTime localTime = time.toLocalTime();
+        return (localTime.getHour() * 60 + localTime.getMinute()) / QUARTER_MINUTES;
+    }
+
+    @FunctionalInterface
+    private interface QuarterConsumer {
+        void accept(long epochDay, int quarter);
+    }
+
+    private record DayKey(long doctorId, long epochDay) {
+    }
+
+    private static final class DaySchedule {
+
+        private final AtomicLongArray bits = new AtomicLongArray((QUARTERS_PER_DAY + 63) / 64);
+
+        private final long loadedAt;
+
+        private DaySchedule(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+
+        private boolean isTaken(int quarter) {
+            return (bits.get(quarter >> 6) & (1L << quarter)) != 0;
+        }
+
+        private void take(int quarter) {
+            bits.getAndAccumulate(quarter >> 6, 1L << quarter, (current, mask) -> current | mask);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.blue.bridge.doctor.service;
 
+import com.blue.bridge.doctor.dto.AvailabilitySlotDTO;
 import com.blue.bridge.doctor.dto.DoctorDTO;
+import com.blue.bridge.doctor.dto.DoctorUnavailabilityDTO;
 import com.blue.bridge.enums.Specialization;
 import com.blue.bridge.res.Response;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface DoctorService {
@@ -19,4 +22,10 @@ public interface DoctorService {
     Response<List<DoctorDTO>> searchDoctorsBySpecialization(Specialization specialization);
 
     Response<List<Specialization>> getAllSpecializationEnums();
+
+    Response<List<AvailabilitySlotDTO>> getDoctorAvailability(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    Response<List<AvailabilitySlotDTO>> findEarliestAvailable(Specialization specialization, LocalDateTime from, int limit);
+
+    Response<DoctorUnavailabilityDTO> blockTimeRange(Long doctorId, DoctorUnavailabilityDTO unavailabilityDTO);
 }
@@ -1,22 +1,43 @@
 package com.blue.bridge.doctor.service;
 
+import com.blue.bridge.appointment.dto.AppointmentRow;
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.appointment.repo.AppointmentBulkUpdater;
+import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.appointment.service.DoctorBookingLocks;
+import com.blue.bridge.doctor.dto.AvailabilitySlotDTO;
 import com.blue.bridge.doctor.dto.DoctorDTO;
+import com.blue.bridge.doctor.dto.DoctorUnavailabilityDTO;
 import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.doctor.entity.DoctorUnavailability;
 import com.blue.bridge.doctor.repo.DoctorRepository;
+import com.blue.bridge.doctor.repo.DoctorUnavailabilityRepository;
+import com.blue.bridge.enums.AppointmentEventType;
 import com.blue.bridge.enums.Specialization;
+import com.blue.bridge.exceptions.BadRequestException;
 import com.blue.bridge.exceptions.NotFoundException;
+import com.blue.bridge.notification.dto.NotificationDTO;
+import com.blue.bridge.notification.service.NotificationService;
 import com.blue.bridge.res.Response;
 import com.blue.bridge.users.entity.User;
-import com.blue.bridge.users.service.UserService;
+import com.blue.bridge.users.service.CurrentActor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.print.Doc;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,15 +46,32 @@ import java.util.Optional;
 public class DoctorServiceImp implements DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final UserService userService;
     private final ModelMapper modelMapper;
+    private final CurrentActor currentActor;
+    private final DoctorAvailabilityIndex doctorAvailabilityIndex;
+    private final EarliestAvailabilityFinder earliestAvailabilityFinder;
+    private final DoctorUnavailabilityRepository doctorUnavailabilityRepository;
+    private final AppointmentRepo appointmentRepo;
+    private final AppointmentBulkUpdater appointmentBulkUpdater;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationService notificationService;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' hh:mm a");
+
+    @Value("${appointments.availability.max-range-days:31}")
+    private long maxRangeDays;
+
+    @Value("${appointments.availability.max-results:50}")
+    private int maxResults;
+
+    @Value("${appointments.unavailability.max-range-days:90}")
+    private long maxUnavailabilityDays;
 
     @Override
     public Response<DoctorDTO> getDoctorProfile() {
 
-        User user = userService.getCurrentUser();
-
-        Doctor doctor = doctorRepository.findByUser(user)
+        Doctor doctor = currentActor.getDoctor()
                 .orElseThrow(() -> new NotFoundException("Doctor not found."));
 
         return Response.<DoctorDTO>builder()
@@ -46,9 +84,7 @@ public class DoctorServiceImp implements DoctorService {
     @Override
     public Response<?> updateDoctorProfile(DoctorDTO doctorDTO) {
 
-        User user = userService.getCurrentUser();
-
-        Doctor doctor = doctorRepository.findByUser(user)
+        Doctor doctor = currentActor.getDoctor()
                 .orElseThrow(() -> new NotFoundException("Doctor not found."));
 
         if (StringUtils.hasText(doctorDTO.getFirstName())) {
@@ -130,4 +166,184 @@ public class DoctorServiceImp implements DoctorService {
                 .data(specializations)
                 .build();
     }
+
+    @Override
+    public Response<List<AvailabilitySlotDTO>> getDoctorAvailability(Long doctorId, LocalDateTime from, LocalDateTime to) {
+
+        if (!to.isAfter(from)) {
+            throw new BadRequestException("The end of the range must be after its start.");
+        }
+
+        if (Duration.between(from, to).toDays() > maxRangeDays) {
+            throw new BadRequestException("Availability can be requested for at most " + maxRangeDays + " days at a time.");
+        }
+
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor not found.");
+        }
+
+        LocalDateTime earliestStart = LocalDateTime.now().plusHours(1);
+
+        List<AvailabilitySlotDTO> slots = doctorAvailabilityIndex.findFreeSlots(
+                doctorId, from.isBefore(earliestStart) ? earliestStart : from, to);
+
+        return Response.<List<AvailabilitySlotDTO>>builder()
+                .statusCode(200)
+                .message("Doctor availability retrieved successfully.")
+                .data(slots)
+                .build();
+    }
+
+    @Override
+    public Response<List<AvailabilitySlotDTO>> findEarliestAvailable(Specialization specialization, LocalDateTime from, int limit) {
+
+        if (limit < 1 || limit > maxResults) {
+            throw new BadRequestException("Limit must be between 1 and " + maxResults + ".");
+        }
+
+        LocalDateTime earliestStart = LocalDateTime.now().plusHours(1);
+
+        if (from == null || from.isBefore(earliestStart)) {
+            from = earliestStart;
+        }
+
+        List<Long> doctorIds = doctorRepository.findIdsBySpecialization(specialization);
+
+        List<AvailabilitySlotDTO> slots = earliestAvailabilityFinder.findEarliest(doctorIds, from, limit);
+
+        String message = slots.isEmpty() ?
+                "No available slots found for specialization: " + specialization.name() :
+                "Earliest available slots retrieved successfully for specialization: " + specialization.name();
+
+        return Response.<List<AvailabilitySlotDTO>>builder()
+                .statusCode(200)
+                .message(message)
+                .data(slots)
+                .build();
+    }
+
+    /**
+     * Blocks a time range for a doctor. The interval is recorded and every upcoming scheduled
+     * appointment overlapping it is cancelled in one statement, in the same transaction and under
+     * the doctor's booking lock, so no booking on any node can slip in between. Appointments that
+     * already started are left to the no-show sweep. Patients get their cancellation emails and
+     * the doctor a single digest, all handed to the mailer as one batch.
+     */
+    @Override
+    public Response<DoctorUnavailabilityDTO> blockTimeRange(Long doctorId, DoctorUnavailabilityDTO unavailabilityDTO) {
+
+        Doctor doctor = doctorId == null ?
+                currentActor.getDoctor().orElseThrow(() -> new NotFoundException("Doctor not found.")) :
+                doctorRepository.findById(doctorId).orElseThrow(() -> new NotFoundException("Doctor not found."));
+
+        LocalDateTime startTime = unavailabilityDTO.getStartTime();
+        LocalDateTime endTime = unavailabilityDTO.getEndTime();
+
+        if (!endTime.isAfter(startTime)) {
+            throw new BadRequestException("The end of the range must be after its start.");
+        }
+
+        if (!endTime.isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("The range to block must end in the future.");
+        }
+
+        if (Duration.between(startTime, endTime).toDays() > maxUnavailabilityDays) {
+            throw new BadRequestException("At most " + maxUnavailabilityDays + " days can be blocked at a time.");
+        }
+
+        DoctorUnavailability unavailability = DoctorUnavailability.builder()
+                .doctor(doctor)
+                .startTime(startTime)
+                .endTime(endTime)
+                .reason(unavailabilityDTO.getReason())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        List<Long> cancelledIds = doctorBookingLocks.withLock(doctor.getId(), () -> {
+            doctorUnavailabilityRepository.save(unavailability);
+            return appointmentBulkUpdater.cancelInRange(doctor.getId(), startTime, endTime, LocalDateTime.now());
+        });
+
+        doctorAvailabilityIndex.invalidate(doctor.getId(), startTime, endTime);
+
+        if (!cancelledIds.isEmpty()) {
+            List<AppointmentRow> cancelled = appointmentRepo.findRowsByIds(cancelledIds);
+
+            cancelled.forEach(row -> eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEventType.CANCELLED, row)));
+
+            sendUnavailabilityNotifications(unavailability, cancelled);
+        }
+
+        log.info("Blocked {} - {} for doctor {}, cancelled {} appointments",
+                startTime, endTime, doctor.getId(), cancelledIds.size());
+
+        DoctorUnavailabilityDTO blocked = DoctorUnavailabilityDTO.builder()
+                .id(unavailability.getId())
+                .doctorId(doctor.getId())
+                .startTime(startTime)
+                .endTime(endTime)
+                .reason(unavailability.getReason())
+                .cancelledAppointments(cancelledIds.size())
+                .build();
+
+        return Response.<DoctorUnavailabilityDTO>builder()
+                .statusCode(200)
+                .message("Time blocked successfully. " + cancelledIds.size() + " appointments were cancelled.")
+                .data(blocked)
+                .build();
+    }
+
+    private void sendUnavailabilityNotifications(DoctorUnavailability unavailability, List<AppointmentRow> cancelled) {
+
+        List<NotificationDTO> notifications = new ArrayList<>(cancelled.size() + 1);
+        List<String> cancelledAppointments = new ArrayList<>(cancelled.size());
+
+        for (AppointmentRow row : cancelled) {
+
+            String appointmentTime = row.startTime().format(FORMATTER);
+            cancelledAppointments.add(appointmentTime + " - " + row.patientUserName());
+
+            Map<String, Object> patientVars = new HashMap<>();
+            patientVars.put("recipientName", row.patientUserName());
+            patientVars.put("cancellingPartyName", row.doctorUserName());
+            patientVars.put("appointmentTime", appointmentTime);
+            patientVars.put("doctorName", row.doctorLastName());
+            patientVars.put("patientFullName", row.patientUserName());
+
+            notifications.add(NotificationDTO.builder()
+                    .recipient(row.patientUserEmail())
+                    .subject("Blue Bridge: Appointment CANCELED (ID: " + row.id() + ")")
+                    .templateName("appointment-cancellation")
+                    .templateVariables(patientVars)
+                    .user(User.builder()
+                            .id(row.patientUserId())
+                            .name(row.patientUserName())
+                            .email(row.patientUserEmail())
+                            .build())
+                    .build());
+        }
+
+        AppointmentRow first = cancelled.get(0);
+
+        Map<String, Object> doctorVars = new HashMap<>();
+        doctorVars.put("recipientName", first.doctorUserName());
+        doctorVars.put("blockedFrom", unavailability.getStartTime().format(FORMATTER));
+        doctorVars.put("blockedUntil", unavailability.getEndTime().format(FORMATTER));
+        doctorVars.put("reason", unavailability.getReason());
+        doctorVars.put("cancelledAppointments", cancelledAppointments);
+
+        notifications.add(NotificationDTO.builder()
+                .recipient(first.doctorUserEmail())
+                .subject("Blue Bridge: " + cancelled.size() + (cancelled.size() == 1 ? " Appointment" : " Appointments") + " Cancelled")
+                .templateName("doctor-unavailability")
+                .templateVariables(doctorVars)
+                .user(User.builder()
+                        .id(first.doctorUserId())
+                        .name(first.doctorUserName())
+                        .email(first.doctorUserEmail())
+                        .build())
+                .build());
+
+        notificationService.sendEmails(notifications);
+    }
 }
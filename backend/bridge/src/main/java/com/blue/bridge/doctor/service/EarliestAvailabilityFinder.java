@@ -0,0 +1,172 @@
+package com.blue.bridge.doctor.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.doctor.dto.AvailabilitySlotDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Finds the earliest free slots across a set of doctors. Each doctor gets a cursor that walks
+ * forward to its next free hour, and the cursors are merged through a priority queue, so only
+ * the days the merge actually reaches are ever loaded into the availability index. Days are
+ * loaded for all doctors at once, one window at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class EarliestAvailabilityFinder {
+
+    private final DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Value("${appointments.availability.search-window-days:7}")
+    private int windowDays;
+
+    @Value("${appointments.availability.search-horizon-days:60}")
+    private int horizonDays;
+
+    public List<AvailabilitySlotDTO> findEarliest(List<Long> doctorIds, LocalDateTime from, int limit) {
+
+        List<AvailabilitySlotDTO> slots = new ArrayList<>();
+
+        if (doctorIds.isEmpty() || limit <= 0) {
+            return slots;
+        }
+
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS).isBefore(from)
+                ? from.truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                : from;
+        LocalDateTime horizon = start.toLocalDate().plusDays(horizonDays).atStartOfDay();
+
+        Window window = new Window(start, horizon);
+        window.extend(doctorIds);
+
+        PriorityQueue<DoctorCursor> queue = new PriorityQueue<>(doctorIds.size(),
+                Comparator.comparing(DoctorCursor::next).thenComparing(DoctorCursor::doctorId));
+
+        for (Long doctorId : doctorIds) {
+            DoctorCursor cursor = new DoctorCursor(doctorId, start);
+            if (cursor.seek(window)) {
+                queue.add(cursor);
+            }
+        }
+
+        while (!queue.isEmpty() && slots.size() < limit) {
+
+            DoctorCursor cursor = queue.poll();
+
+            if (cursor.parked) {
+                if (cursor.end().isAfter(window.loadedUntil)) {
+                    List<Long> pending = new ArrayList<>(queue.size() + 1);
+                    pending.add(cursor.doctorId);
+                    queue.forEach(other -> pending.add(other.doctorId));
+                    window.extend(pending);
+                }
+                if (cursor.seek(window)) {
+                    queue.add(cursor);
+                }
+                continue;
+            }
+
+            slots.add(AvailabilitySlotDTO.builder()
+                    .doctorId(cursor.doctorId)
+                    .startTime(cursor.next)
+                    .endTime(cursor.next.plusMinutes(DoctorAvailabilityIndex.APPOINTMENT_MINUTES))
+                    .build());
+
+            cursor.next = cursor.next.plusMinutes(DoctorAvailabilityIndex.APPOINTMENT_MINUTES);
+
+            if (cursor.seek(window)) {
+                queue.add(cursor);
+            }
+        }
+
+        return slots;
+    }
+
+    /**
+     * The range of days already loaded for every doctor still being merged.
+     */
+    private final class Window {
+
+        private LocalDateTime loadedUntil;
+
+        private final LocalDateTime horizon;
+
+        private Window(LocalDateTime start, LocalDateTime horizon) {
+            this.loadedUntil = start.toLocalDate().atStartOfDay();
+            this.horizon = horizon;
+        }
+
+        private void extend(List<Long> doctorIds) {
+
+            LocalDateTime until = loadedUntil.plusDays(windowDays);
+            if (until.isAfter(horizon)) {
+                until = horizon;
+            }
+
+            doctorAvailabilityIndex.preload(doctorIds, loadedUntil.toLocalDate(), until.toLocalDate().minusDays(1));
+            loadedUntil = until;
+        }
+    }
+
+    private final class DoctorCursor {
+
+        private final Long doctorId;
+
+        private LocalDateTime next;
+
+        private boolean parked;
+
+        private DoctorCursor(Long doctorId, LocalDateTime next) {
+            this.doctorId = doctorId;
+            this.next = next;
+        }
+
+        private Long doctorId() {
+            return doctorId;
+        }
+
+        private LocalDateTime next() {
+            return next;
+        }
+
+        private LocalDateTime end() {
+            return next.plusMinutes(DoctorAvailabilityIndex.APPOINTMENT_MINUTES);
+        }
+
+        /**
+         * Moves to the next free hour inside the loaded window. A cursor that runs off the
+         * window is parked at its edge until the merge gets there; returns false once the
+         * horizon is passed.
+         */
+        private boolean seek(Window window) {
+
+            parked = false;
+
+            while (true) {
+                if (end().isAfter(window.horizon)) {
+                    return false;
+                }
+
+                if (end().isAfter(window.loadedUntil)) {
+                    parked = true;
+                    return true;
+                }
+
+                if (doctorAvailabilityIndex.isFree(doctorId, next)) {
+                    return true;
+                }
+
+                next = next.plusMinutes(DoctorAvailabilityIndex.APPOINTMENT_MINUTES);
+            }
+        }
+    }
+}
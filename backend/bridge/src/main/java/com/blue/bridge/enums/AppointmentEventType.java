@@ -0,0 +1,9 @@
+package com.blue.bridge.enums;
+
+public enum AppointmentEventType {
+    BOOKED,
+    CANCELLED,
+    COMPLETED,
+    NO_SHOW,
+    RESCHEDULED
+}
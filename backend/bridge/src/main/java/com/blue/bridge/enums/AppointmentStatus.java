@@ -1,8 +1,27 @@
 package com.blue.bridge.enums;
 
+import java.util.List;
+
 public enum AppointmentStatus {
     SCHEDULED,
     COMPLETED,
     CANCELLED,
-    NO_SHOW
+    NO_SHOW;
+
+    /**
+     * The statuses an appointment may move into this one from. A no-show can still be completed,
+     * for a doctor writing up a consultation after the sweeper ran; every other move starts from
+     * SCHEDULED.
+     */
+    public List<AppointmentStatus> sources() {
+        return switch (this) {
+            case SCHEDULED -> List.of();
+            case COMPLETED -> List.of(SCHEDULED, NO_SHOW);
+            case CANCELLED, NO_SHOW -> List.of(SCHEDULED);
+        };
+    }
+
+    public List<String> sourceNames() {
+        return sources().stream().map(Enum::name).toList();
+    }
 }
@@ -1,5 +1,6 @@
 package com.blue.bridge.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -42,4 +43,37 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Response<?>> handleAllOptimisticLockingFailures(OptimisticLockingFailureException ex) {
+
+        Response<?> response = Response.builder()
+            .statusCode(HttpStatus.CONFLICT.value())
+            .message("The record was changed by another request, please reload and try again.")
+            .build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Response<?>> handleAllServiceUnavailableExceptions(ServiceUnavailableException ex) {
+
+        Response<?> response = Response.builder()
+            .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .message(ex.getMessage())
+            .build();
+
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Response<?>> handleAllTooManyRequestsExceptions(TooManyRequestsException ex) {
+
+        Response<?> response = Response.builder()
+            .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+            .message(ex.getMessage())
+            .build();
+
+        return new ResponseEntity<>(response, HttpStatus.TOO_MANY_REQUESTS);
+    }
 }
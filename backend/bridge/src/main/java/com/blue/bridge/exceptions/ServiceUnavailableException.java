@@ -0,0 +1,7 @@
+package com.blue.bridge.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String ex) {
+        super(ex);
+    }
+}
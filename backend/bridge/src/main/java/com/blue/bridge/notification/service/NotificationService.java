@@ -1,8 +1,12 @@
 package com.blue.bridge.notification.service;
 
+import java.util.List;
+
 import com.blue.bridge.notification.dto.NotificationDTO;
 import com.blue.bridge.users.entity.User;
 
 public interface NotificationService {
     void sendEmail(NotificationDTO notificationDTO, User user);
+
+    void sendEmails(List<NotificationDTO> notificationDTOs);
 }
@@ -1,6 +1,7 @@
 package com.blue.bridge.notification.service;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -32,7 +33,23 @@ public class NotificationServiceImp implements NotificationService {
     @Override
     @Async
     public void sendEmail(NotificationDTO notificationDTO, User user) {
-        
+        deliver(notificationDTO, user);
+    }
+
+    /**
+     * Sends a batch of emails on one async task. Each notification is sent and recorded for the
+     * user it carries.
+     */
+    @Override
+    @Async
+    public void sendEmails(List<NotificationDTO> notificationDTOs) {
+        for (NotificationDTO notificationDTO : notificationDTOs) {
+            deliver(notificationDTO, notificationDTO.getUser());
+        }
+    }
+
+    private void deliver(NotificationDTO notificationDTO, User user) {
+
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(
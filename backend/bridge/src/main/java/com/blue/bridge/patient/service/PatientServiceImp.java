@@ -7,12 +7,12 @@ import com.blue.bridge.patient.dto.PatientDTO;
 import com.blue.bridge.patient.entity.Patient;
 import com.blue.bridge.patient.repo.PatientRepo;
 import com.blue.bridge.res.Response;
-import com.blue.bridge.users.entity.User;
-import com.blue.bridge.users.service.UserService;
+import com.blue.bridge.users.service.CurrentActor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
@@ -26,16 +26,15 @@ import java.util.Optional;
 public class PatientServiceImp implements PatientService {
 
     private final PatientRepo patientRepo;
-    private final UserService userService;
     private final ModelMapper modelMapper;
+    private final CurrentActor currentActor;
 
 
     @Override
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientProfile() {
 
-        User user = userService.getCurrentUser();
-
-        Patient patient = patientRepo.findByUser(user)
+        Patient patient = currentActor.getPatient()
                 .orElseThrow(() -> new NotFoundException("Patient not found."));
 
         return Response.<PatientDTO>builder()
@@ -46,11 +45,10 @@ public class PatientServiceImp implements PatientService {
     }
 
     @Override
+    @Transactional
     public Response<?> updatePatientProfile(PatientDTO patientDTO) {
 
-        User currentUser = userService.getCurrentUser();
-
-        Patient patient = patientRepo.findByUser(currentUser)
+        Patient patient = currentActor.getPatient()
                 .orElseThrow(() -> new NotFoundException("Patient profile not found."));
 
         if (StringUtils.hasText(patientDTO.getFirstName())) {
@@ -83,6 +81,7 @@ public class PatientServiceImp implements PatientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientById(Long patientId) {
 
         Patient patient = patientRepo.findById(patientId)
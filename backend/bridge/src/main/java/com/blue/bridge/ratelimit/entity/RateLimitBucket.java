@@ -0,0 +1,29 @@
+package com.blue.bridge.ratelimit.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Table(name = "rate_limit_buckets")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key")
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(name = "refilled_at", nullable = false)
+    private long refilledAt;
+}
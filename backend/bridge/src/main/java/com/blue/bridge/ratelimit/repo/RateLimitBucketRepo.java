@@ -0,0 +1,33 @@
+package com.blue.bridge.ratelimit.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blue.bridge.ratelimit.entity.RateLimitBucket;
+
+public interface RateLimitBucketRepo extends JpaRepository<RateLimitBucket, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at) " +
+            "VALUES (:bucketKey, :capacity - 1, :now) " +
+            "ON CONFLICT (bucket_key) DO UPDATE " +
+            "SET tokens = LEAST(:capacity, rate_limit_buckets.tokens + (:now - rate_limit_buckets.refilled_at) * :refillPerMilli) - 1, " +
+            "    refilled_at = :now " +
+            "WHERE LEAST(:capacity, rate_limit_buckets.tokens + (:now - rate_limit_buckets.refilled_at) * :refillPerMilli) >= 1",
+            nativeQuery = true)
+    int tryConsume(
+            @Param("bucketKey") String bucketKey,
+            @Param("capacity") double capacity,
+            @Param("refillPerMilli") double refillPerMilli,
+            @Param("now") long now
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM rate_limit_buckets WHERE refilled_at < :cutoff", nativeQuery = true)
+    int deleteIdleBuckets(@Param("cutoff") long cutoff);
+}
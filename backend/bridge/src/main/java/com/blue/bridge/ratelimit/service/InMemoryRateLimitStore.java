@@ -0,0 +1,104 @@
+package com.blue.bridge.ratelimit.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets kept in this JVM. Each bucket is a single AtomicLong packing the last refill
+ * time (upper bits) and the remaining tokens in thousandths (lower 20 bits), so an allowed
+ * request is one CAS and allocates nothing once the bucket exists.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 16;
+
+    private static final int TOKEN_BITS = 20;
+
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private static final long IDLE_EVICTION_MILLIS = 60 * 60 * 1000;
+
+    private final Map<String, Map<String, AtomicLong>[]> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String route, String key, RateLimit limit) {
+
+        long capacity = limit.capacity() * MILLI_TOKENS;
+
+        if (capacity > TOKEN_MASK) {
+            throw new IllegalArgumentException("Rate limit capacity too large for route " + route);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, AtomicLong> stripe = stripeFor(route, key);
+
+        AtomicLong bucket = stripe.get(key);
+
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long refilledAt = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+
+            long elapsed = Math.max(0, now - refilledAt);
+            long available = Math.min(capacity, tokens + elapsed * capacity / limit.refillPeriodMillis());
+
+            if (available < MILLI_TOKENS) {
+                return false;
+            }
+
+            if (bucket.compareAndSet(state, pack(now, available - MILLI_TOKENS))) {
+                return true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MILLIS;
+
+        for (Map<String, AtomicLong>[] stripes : routes.values()) {
+            for (Map<String, AtomicLong> stripe : stripes) {
+                stripe.values().removeIf(bucket -> (bucket.get() >>> TOKEN_BITS) < cutoff);
+            }
+        }
+    }
+
+    private Map<String, AtomicLong> stripeFor(String route, String key) {
+
+        Map<String, AtomicLong>[] stripes = routes.get(route);
+
+        if (stripes == null) {
+            stripes = routes.computeIfAbsent(route, r -> newStripes());
+        }
+
+        return stripes[key.hashCode() & (STRIPES - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, AtomicLong>[] newStripes() {
+        Map<String, AtomicLong>[] stripes = new Map[STRIPES];
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+
+        return stripes;
+    }
+
+    private static long pack(long refilledAt, long tokens) {
+        return (refilledAt << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,37 @@
+package com.blue.bridge.ratelimit.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.ratelimit.repo.RateLimitBucketRepo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Token buckets shared by every node through the rate_limit_buckets table. Refill and
+ * consumption happen in a single upsert, so concurrent nodes never read-modify-write.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final long IDLE_EVICTION_MILLIS = 60 * 60 * 1000;
+
+    private final RateLimitBucketRepo rateLimitBucketRepo;
+
+    @Override
+    public boolean tryAcquire(String route, String key, RateLimit limit) {
+        return rateLimitBucketRepo.tryConsume(
+                route + ":" + key,
+                limit.capacity(),
+                limit.refillPerMilli(),
+                System.currentTimeMillis()) > 0;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        rateLimitBucketRepo.deleteIdleBuckets(System.currentTimeMillis() - IDLE_EVICTION_MILLIS);
+    }
+}
@@ -0,0 +1,8 @@
+package com.blue.bridge.ratelimit.service;
+
+public record RateLimit(int capacity, long refillPeriodMillis) {
+
+    public double refillPerMilli() {
+        return (double) capacity / refillPeriodMillis;
+    }
+}
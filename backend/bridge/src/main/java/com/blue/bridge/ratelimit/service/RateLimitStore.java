@@ -0,0 +1,6 @@
+package com.blue.bridge.ratelimit.service;
+
+public interface RateLimitStore {
+
+    boolean tryAcquire(String route, String key, RateLimit limit);
+}
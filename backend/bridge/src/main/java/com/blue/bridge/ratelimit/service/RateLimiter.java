@@ -0,0 +1,75 @@
+package com.blue.bridge.ratelimit.service;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.blue.bridge.exceptions.TooManyRequestsException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String REGISTER = "register";
+    public static final String FORGOT_PASSWORD = "forgot-password";
+
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final RateLimitStore rateLimitStore;
+
+    @Value("${ratelimit.login.capacity:10}")
+    private int loginCapacity;
+
+    @Value("${ratelimit.login.period-minutes:1}")
+    private long loginPeriodMinutes;
+
+    @Value("${ratelimit.register.capacity:5}")
+    private int registerCapacity;
+
+    @Value("${ratelimit.register.period-minutes:10}")
+    private long registerPeriodMinutes;
+
+    @Value("${ratelimit.forgot-password.capacity:3}")
+    private int forgotPasswordCapacity;
+
+    @Value("${ratelimit.forgot-password.period-minutes:15}")
+    private long forgotPasswordPeriodMinutes;
+
+    private Map<String, RateLimit> limits;
+
+    private Map<String, String> ipRoutes;
+
+    private Map<String, String> emailRoutes;
+
+    @PostConstruct
+    private void init() {
+        this.limits = Map.of(
+                LOGIN, new RateLimit(loginCapacity, loginPeriodMinutes * MINUTE_MILLIS),
+                REGISTER, new RateLimit(registerCapacity, registerPeriodMinutes * MINUTE_MILLIS),
+                FORGOT_PASSWORD, new RateLimit(forgotPasswordCapacity, forgotPasswordPeriodMinutes * MINUTE_MILLIS));
+
+        this.ipRoutes = Map.of(LOGIN, LOGIN + ":ip", REGISTER, REGISTER + ":ip", FORGOT_PASSWORD, FORGOT_PASSWORD + ":ip");
+        this.emailRoutes = Map.of(LOGIN, LOGIN + ":email", REGISTER, REGISTER + ":email", FORGOT_PASSWORD, FORGOT_PASSWORD + ":email");
+    }
+
+    public boolean tryAcquireForIp(String route, String clientIp) {
+        return rateLimitStore.tryAcquire(ipRoutes.get(route), clientIp, limits.get(route));
+    }
+
+    public void checkEmail(String route, String email) {
+
+        if (email == null) {
+            return;
+        }
+
+        if (!rateLimitStore.tryAcquire(emailRoutes.get(route), email.toLowerCase(Locale.ROOT), limits.get(route))) {
+            throw new TooManyRequestsException("Too many requests for this account. Please try again later.");
+        }
+    }
+}
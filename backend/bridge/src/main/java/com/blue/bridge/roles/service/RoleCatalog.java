@@ -0,0 +1,81 @@
+package com.blue.bridge.roles.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.roles.entity.Role;
+import com.blue.bridge.roles.repo.RoleRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the roles table. The set is tiny and changes only through
+ * RoleServiceImp, which reloads it after every write.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoleCatalog {
+
+    private final RoleRepo roleRepo;
+
+    private volatile Map<String, Role> rolesByName;
+
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoleNames = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        rolesByName = roleRepo.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+        log.info("Role catalog loaded with {} roles", rolesByName.size());
+    }
+
+    public Optional<Role> findByName(String name) {
+        return Optional.ofNullable(roles().get(name));
+    }
+
+    /**
+     * Returns a shared, immutable authority list for the given role names, so principals built
+     * on every request do not allocate new SimpleGrantedAuthority objects each time.
+     */
+    public List<GrantedAuthority> authoritiesFor(List<String> roleNames) {
+
+        List<GrantedAuthority> authorities = authoritiesByRoleNames.get(roleNames);
+
+        if (authorities == null) {
+            authorities = authoritiesByRoleNames.computeIfAbsent(List.copyOf(roleNames), RoleCatalog::toAuthorities);
+        }
+
+        return authorities;
+    }
+
+    private Map<String, Role> roles() {
+
+        Map<String, Role> roles = rolesByName;
+
+        if (roles == null) {
+            reload();
+            roles = rolesByName;
+        }
+
+        return roles;
+    }
+
+    private static List<GrantedAuthority> toAuthorities(Collection<String> roleNames) {
+        return roleNames.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
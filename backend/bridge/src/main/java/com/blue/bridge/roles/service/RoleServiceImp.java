@@ -17,11 +17,13 @@ import lombok.RequiredArgsConstructor;
 public class RoleServiceImp implements RoleService {
 
     private final RoleRepo roleRepo;
+    private final RoleCatalog roleCatalog;
 
     @Override
     public Response<Role> createRole(Role roleRequest) {
 
         Role saveRole = roleRepo.save(roleRequest);
+        roleCatalog.reload();
 
         return Response.<Role>builder()
                 .statusCode(200)
@@ -38,6 +40,7 @@ public class RoleServiceImp implements RoleService {
         role.setName(roleRequest.getName());
 
         Role updateRole = roleRepo.save(role);
+        roleCatalog.reload();
 
         return Response.<Role>builder()
                 .statusCode(201)
@@ -66,6 +69,7 @@ public class RoleServiceImp implements RoleService {
         }
 
         roleRepo.deleteById(id);
+        roleCatalog.reload();
         
         return Response.<Role>builder()
             .statusCode(HttpStatus.OK.value())
@@ -2,6 +2,7 @@ package com.blue.bridge.security;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.AuthenticationException;
 
 import org.springframework.security.authentication.BadCredentialsException;
@@ -13,6 +14,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.blue.bridge.exceptions.CustomAuthenticationEntryPoint;
+import com.blue.bridge.users.entity.User;
+
+import io.jsonwebtoken.Claims;
 
 import org.springframework.util.StringUtils;
 import jakarta.servlet.FilterChain;
@@ -33,6 +37,11 @@ public class AuthFilter extends OncePerRequestFilter {
 
     private final CustomUserDetailsService customUserDetailsService;
 
+    private final TokenVersionCache tokenVersionCache;
+
+    @Value("${jwt.stateless.principal:true}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -40,11 +49,11 @@ public class AuthFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         if (token != null) {
-            String email;
+            Claims claims;
 
             try {
 
-                email = tokenService.getUsernameFromToken(token);
+                claims = tokenService.verify(token);
 
             } catch (Exception e) {
                 log.error("Exception occured while extracting username from token");
@@ -52,9 +61,11 @@ public class AuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            String email = claims.getSubject();
+
+            UserDetails userDetails = resolvePrincipal(claims, email);
 
-            if (StringUtils.hasText(email) && tokenService.isTokenValid(token, userDetails)) {
+            if (StringUtils.hasText(email) && userDetails != null && tokenService.isTokenValid(claims, userDetails)) {
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -75,6 +86,28 @@ public class AuthFilter extends OncePerRequestFilter {
 
     }
 
+    private UserDetails resolvePrincipal(Claims claims, String email) {
+
+        if (statelessPrincipal) {
+            AuthUser authUser = tokenService.getPrincipalFromClaims(claims);
+
+            if (authUser != null) {
+                User user = authUser.getUser();
+                return tokenVersionCache.isCurrent(user.getId(), user.getTokenVersion()) ? authUser : null;
+            }
+        }
+
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        Long tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Long.class);
+
+        if (tokenVersion != null && userDetails instanceof AuthUser authUser
+                && !tokenVersion.equals(authUser.getUser().getTokenVersion())) {
+            return null;
+        }
+
+        return userDetails;
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String tokenWithBearer = request.getHeader("Authorization");
         if (tokenWithBearer != null && tokenWithBearer.startsWith("Bearer ")) {
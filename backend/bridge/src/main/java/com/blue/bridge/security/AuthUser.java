@@ -1,6 +1,7 @@
 package com.blue.bridge.security;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
@@ -18,12 +19,17 @@ public class AuthUser implements UserDetails {
 
     private User user;
 
+    private List<GrantedAuthority> authorities;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles()
-            .stream()
-            .map(role -> new SimpleGrantedAuthority(role.getName()))
-            .toList();
+        if (authorities == null) {
+            authorities = user.getRoles()
+                .stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.getName()))
+                .toList();
+        }
+        return authorities;
     }
 
     @Override
@@ -20,7 +20,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        User user = userRepo.findByEmail(username)
+        User user = userRepo.findWithRolesByEmail(username)
             .orElseThrow(() -> new NotFoundException("Email not found."));
 
         return AuthUser.builder()
@@ -2,64 +2,144 @@ package com.blue.bridge.security;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.Optional;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.blue.bridge.roles.entity.Role;
+import com.blue.bridge.roles.service.RoleCatalog;
+import com.blue.bridge.users.entity.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret.string}")
     private String JWT_SECRETE;
 
     @Value("${jwt.expiration.time}")
     private long EXPIRATION_TIME;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenHasher tokenHasher;
+
+    private final MeterRegistry meterRegistry;
+
+    private final RoleCatalog roleCatalog;
+
     private SecretKey key;
 
+    private JwtParser parser;
+
+    private Counter cacheHits;
+
+    private Counter cacheMisses;
+
+    private Timer verificationTimer;
+
     @PostConstruct
     private void init() {
         byte[] keyByte = JWT_SECRETE.getBytes(StandardCharsets.UTF_8);
         this.key = new SecretKeySpec(keyByte, "HmacSHA256");
+        this.parser = Jwts.parser().verifyWith(key).build();
+
+        this.cacheHits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.verificationTimer = Timer.builder("jwt.verification").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", verifiedTokenCache, VerifiedTokenCache::size).register(meterRegistry);
     }
 
-    public String generateToken(String email) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(email)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(Role::getName).toList())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims. Tokens that
+     * were already verified are served from the cache until they expire.
+     */
+    public Claims verify(String token) {
+
+        String digest = tokenHasher.hash(token);
+        Claims cached = verifiedTokenCache.get(digest);
+
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        cacheMisses.increment();
+
+        Claims claims = verificationTimer.record(() -> parser.parseSignedClaims(token).getPayload());
+        verifiedTokenCache.put(digest, claims);
+
+        return claims;
     }
 
-    private <T> T extractClaims(String token, Function<Claims, T> claimsFunction) {
-        return claimsFunction.apply(Jwts.parser().verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload());
+    /**
+     * Builds the principal straight from the signed claims, without touching the database.
+     * Returns null for tokens issued before the claims were added, so callers can fall back
+     * to a user lookup.
+     */
+    public AuthUser getPrincipalFromClaims(Claims claims) {
+
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roleClaim = claims.get(ROLES_CLAIM, List.class);
+
+        if (userId == null || roleClaim == null) {
+            return null;
+        }
+
+        List<String> roleNames = roleClaim.stream().map(Object::toString).toList();
+
+        User user = User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .roles(roleNames.stream().map(roleCatalog::findByName).flatMap(Optional::stream).toList())
+                .tokenVersion(claims.get(TOKEN_VERSION_CLAIM, Long.class))
+                .build();
+
+        return AuthUser.builder()
+                .user(user)
+                .authorities(roleCatalog.authoritiesFor(roleNames))
+                .build();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
 }
@@ -0,0 +1,62 @@
+package com.blue.bridge.security;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.blue.bridge.ratelimit.service.RateLimiter;
+import com.blue.bridge.res.Response;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Map<String, String> LIMITED_ROUTES = Map.of(
+            "/api/auth/login", RateLimiter.LOGIN,
+            "/api/auth/register", RateLimiter.REGISTER,
+            "/api/auth/forgot-password", RateLimiter.FORGOT_PASSWORD);
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LIMITED_ROUTES.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String route = LIMITED_ROUTES.get(request.getRequestURI());
+
+        if (rateLimiter.tryAcquireForIp(route, request.getRemoteAddr())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit exceeded on {} for {}", route, request.getRemoteAddr());
+
+        Response<?> errorResponse = Response.builder()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests. Please try again later.")
+                .build();
+
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
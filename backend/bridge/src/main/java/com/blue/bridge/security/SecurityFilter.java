@@ -1,5 +1,6 @@
 package com.blue.bridge.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,10 +15,15 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 
 import com.blue.bridge.exceptions.CustomAccesDenialHandler;
 import com.blue.bridge.exceptions.CustomAuthenticationEntryPoint;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -27,6 +33,7 @@ import lombok.RequiredArgsConstructor;
 public class SecurityFilter {
 
     private final AuthFilter authFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final CustomAccesDenialHandler customAccesDenialHandler;
 
@@ -38,6 +45,13 @@ public class SecurityFilter {
                 ex.accessDeniedHandler(customAccesDenialHandler)
                         .authenticationEntryPoint(customAuthenticationEntryPoint))
             .authorizeHttpRequests(req -> req
+                    // The original request of an event stream was already authorized; its async
+                    // re-dispatch on completion or timeout carries no token and must not be denied.
+                    // Any other async dispatch is authorized like a normal request.
+                    .requestMatchers(new AndRequestMatcher(
+                            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                            PathPatternRequestMatcher.withDefaults().matcher("/api/appointments/stream")))
+                            .permitAll()
                     .requestMatchers("/api/auth/**",
                                     "/api/doctors/**",
                                    "/api/users/**")
@@ -45,14 +59,15 @@ public class SecurityFilter {
                     .anyRequest().authenticated())
             .sessionManagement(mag -> 
                 mag.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, AuthFilter.class);
 
         return httpSecurity.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
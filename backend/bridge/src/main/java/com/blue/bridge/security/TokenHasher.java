@@ -0,0 +1,25 @@
+package com.blue.bridge.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Hex-encoded SHA-256 of a token, used wherever a token has to be looked up without keeping the
+ * token itself: the verified access token cache and the stored refresh tokens.
+ */
+@Component
+public class TokenHasher {
+
+    public String hash(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
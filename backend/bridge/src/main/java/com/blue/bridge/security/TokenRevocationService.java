@@ -0,0 +1,52 @@
+package com.blue.bridge.security;
+
+import org.springframework.stereotype.Service;
+
+import com.blue.bridge.exceptions.NotFoundException;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.RefreshTokenRepo;
+import com.blue.bridge.users.repo.TokenVersionUpdater;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final TokenVersionUpdater tokenVersionUpdater;
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+    private final TokenVersionCache tokenVersionCache;
+
+    private final TokenVersionNotifier tokenVersionNotifier;
+
+    /**
+     * Bumps the stored version and copies the new one onto the entity. Call
+     * {@link #publish(User)} once the caller's save has happened.
+     */
+    public void bumpVersion(User user) {
+        user.setTokenVersion(tokenVersionUpdater.increment(user.getId())
+                .orElseThrow(() -> new NotFoundException("User not found with ID: " + user.getId())));
+    }
+
+    public void publish(User user) {
+        refreshTokenRepo.revokeAllForUser(user.getId());
+        tokenVersionCache.put(user.getId(), user.getTokenVersion());
+        tokenVersionNotifier.publish(user.getId(), user.getTokenVersion());
+        log.info("Tokens revoked for user: {}", user.getId());
+    }
+
+    public void revokeAll(Long userId) {
+
+        Long tokenVersion = tokenVersionUpdater.increment(userId)
+                .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
+
+        refreshTokenRepo.revokeAllForUser(userId);
+        tokenVersionCache.put(userId, tokenVersion);
+        tokenVersionNotifier.publish(userId, tokenVersion);
+        log.info("Tokens revoked for user: {}", userId);
+    }
+}
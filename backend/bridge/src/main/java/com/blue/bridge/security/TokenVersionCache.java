@@ -0,0 +1,78 @@
+package com.blue.bridge.security;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.users.repo.UserRepo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Current token version per user. Once the cache is full every new user pushes out the least
+ * recently used one, whose version is simply loaded again on its next request.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionCache {
+
+    private final UserRepo userRepo;
+
+    @Value("${jwt.revocation.cache-size:100000}")
+    private int maxSize;
+
+    private Map<Long, Long> versions;
+
+    @PostConstruct
+    private void init() {
+        this.versions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+
+        Long currentVersion = versions.get(userId);
+
+        if (currentVersion == null) {
+            // Loaded outside the map, so the query does not hold the lock every request needs.
+            Long loadedVersion = userRepo.findTokenVersionById(userId).orElse(null);
+
+            if (loadedVersion == null) {
+                return false;
+            }
+
+            Long cachedVersion = versions.putIfAbsent(userId, loadedVersion);
+            currentVersion = cachedVersion != null ? cachedVersion : loadedVersion;
+        }
+
+        return tokenVersion.equals(currentVersion);
+    }
+
+    public void put(Long userId, Long tokenVersion) {
+        versions.merge(userId, tokenVersion, Math::max);
+    }
+
+    public void clear() {
+        versions.clear();
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.blue.bridge.security;
+
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.config.DatabaseNotifications;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spreads token version bumps to every node over the token_versions notification channel and
+ * applies incoming versions to this node's TokenVersionCache. If the listener connection drops
+ * the cache is cleared, since notifications may have been missed while it was down.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenVersionNotifier {
+
+    private static final String CHANNEL = "token_versions";
+
+    private final DatabaseNotifications databaseNotifications;
+
+    private final TokenVersionCache tokenVersionCache;
+
+    @PostConstruct
+    private void subscribe() {
+        databaseNotifications.subscribe(CHANNEL, this::apply, tokenVersionCache::clear);
+    }
+
+    public void publish(Long userId, Long tokenVersion) {
+        databaseNotifications.publish(CHANNEL, userId + ":" + tokenVersion);
+    }
+
+    private void apply(String payload) {
+
+        int separator = payload.indexOf(':');
+
+        if (separator < 0) {
+            log.warn("Ignoring malformed token version notification: {}", payload);
+            return;
+        }
+
+        try {
+            Long userId = Long.valueOf(payload.substring(0, separator));
+            Long tokenVersion = Long.valueOf(payload.substring(separator + 1));
+            tokenVersionCache.put(userId, tokenVersion);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token version notification: {}", payload);
+        }
+    }
+}
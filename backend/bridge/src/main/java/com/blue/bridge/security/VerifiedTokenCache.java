@@ -0,0 +1,68 @@
+package com.blue.bridge.security;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the claims of already verified tokens, keyed by a SHA-256 digest of the token so raw
+ * tokens are never held in memory. Entries expire at the token's own exp, and once the cache is
+ * full every new token pushes out the least recently used one, so a put costs the same however
+ * full the cache is.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    private Map<String, CachedClaims> entries;
+
+    @PostConstruct
+    private void init() {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Claims get(String digest) {
+
+        CachedClaims cached = entries.get(digest);
+
+        if (cached == null) {
+            return null;
+        }
+
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(digest);
+            return null;
+        }
+
+        return cached.claims();
+    }
+
+    public void put(String digest, Claims claims) {
+
+        if (claims.getExpiration() == null) {
+            return;
+        }
+
+        entries.put(digest, new CachedClaims(claims, claims.getExpiration().getTime()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.blue.bridge.users.controller;
 import com.blue.bridge.res.Response;
 import com.blue.bridge.users.dto.LoginRequest;
 import com.blue.bridge.users.dto.LoginResponse;
+import com.blue.bridge.users.dto.RefreshTokenRequest;
 import com.blue.bridge.users.dto.RegistrationRequest;
 import com.blue.bridge.users.dto.ResetPasswordRequest;
 import com.blue.bridge.users.service.AuthService;
@@ -31,6 +32,11 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(loginRequest));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<Response<LoginResponse>> refreshToken(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authService.refreshToken(refreshTokenRequest));
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Response<?>> forgotPassword(@RequestBody ResetPasswordRequest resetPasswordRequest) {
         return ResponseEntity.ok(authService.forgetPassword(resetPasswordRequest.getEmail()));
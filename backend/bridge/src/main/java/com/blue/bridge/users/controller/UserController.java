@@ -41,6 +41,12 @@ public class UserController {
         return ResponseEntity.ok(userService.updatePassword(updatePasswordRequest));
     }
 
+    @PutMapping("/{userId}/revoke-tokens")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response<?>> revokeTokens(@PathVariable Long userId) {
+        return ResponseEntity.ok(userService.revokeTokens(userId));
+    }
+
     @PutMapping("/profile-picture")
     public ResponseEntity<Response<?>> getMyUserDetails(@RequestParam("file")MultipartFile file) {
         return ResponseEntity.ok(userService.uploadProfilePicture(file));
@@ -10,5 +10,6 @@ import lombok.Data;
 public class LoginResponse {
 
     private String token;
+    private String refreshToken;
     private List<String> roles;
 }
@@ -1,12 +1,42 @@
 package com.blue.bridge.users.repo;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.blue.bridge.users.entity.PasswordResetCode;
 
 public interface PasswordResetRepo extends JpaRepository<PasswordResetCode, Long>{
     Optional<PasswordResetCode> findByCode(String code);
     void deleteByUserId(Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO password_reset_code (code, used, expire_date, user_id) " +
+            "VALUES (:code, false, :expireDate, :userId) " +
+            "ON CONFLICT (user_id) DO UPDATE " +
+            "SET code = EXCLUDED.code, used = false, expire_date = EXCLUDED.expire_date",
+            nativeQuery = true)
+    int upsertForUser(
+            @Param("userId") Long userId,
+            @Param("code") String code,
+            @Param("expireDate") LocalDateTime expireDate
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_code WHERE id IN (" +
+            "SELECT id FROM password_reset_code " +
+            "WHERE used = true OR expire_date < :now " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredOrUsed(
+            @Param("now") LocalDateTime now,
+            @Param("batchSize") int batchSize
+    );
 }
@@ -0,0 +1,35 @@
+package com.blue.bridge.users.repo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bumps a user's token version with {@code RETURNING}, so the increment and the read of the new
+ * version are one statement and two concurrent bumps can never hand out the same version.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenVersionUpdater {
+
+    private static final String INCREMENT_SQL = "UPDATE users SET token_version = token_version + 1 " +
+            "WHERE id = :userId RETURNING token_version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Increments the token version of the user and returns the new one, or empty when there is no
+     * such user.
+     */
+    @Transactional
+    public Optional<Long> increment(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(INCREMENT_SQL, Map.of("userId", userId), Long.class);
+        return versions.stream().findFirst();
+    }
+}
@@ -3,6 +3,7 @@ package com.blue.bridge.users.service;
 import com.blue.bridge.res.Response;
 import com.blue.bridge.users.dto.LoginRequest;
 import com.blue.bridge.users.dto.LoginResponse;
+import com.blue.bridge.users.dto.RefreshTokenRequest;
 import com.blue.bridge.users.dto.RegistrationRequest;
 import com.blue.bridge.users.dto.ResetPasswordRequest;
 
@@ -12,6 +13,8 @@ public interface AuthService {
 
     Response<LoginResponse> login(LoginRequest loginRequest);
 
+    Response<LoginResponse> refreshToken(RefreshTokenRequest refreshTokenRequest);
+
     Response<?> forgetPassword(String email);
 
     Response<?> updatePasswordViaResetCode(ResetPasswordRequest resetPasswordRequest);
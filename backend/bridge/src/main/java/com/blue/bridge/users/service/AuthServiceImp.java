@@ -8,12 +8,16 @@ import com.blue.bridge.notification.dto.NotificationDTO;
 import com.blue.bridge.notification.service.NotificationService;
 import com.blue.bridge.patient.entity.Patient;
 import com.blue.bridge.patient.repo.PatientRepo;
+import com.blue.bridge.ratelimit.service.RateLimiter;
 import com.blue.bridge.res.Response;
 import com.blue.bridge.roles.entity.Role;
-import com.blue.bridge.roles.repo.RoleRepo;
+import com.blue.bridge.roles.service.RoleCatalog;
 import com.blue.bridge.security.JwtService;
+import com.blue.bridge.security.PasswordHashingService;
+import com.blue.bridge.security.TokenRevocationService;
 import com.blue.bridge.users.dto.LoginRequest;
 import com.blue.bridge.users.dto.LoginResponse;
+import com.blue.bridge.users.dto.RefreshTokenRequest;
 import com.blue.bridge.users.dto.RegistrationRequest;
 import com.blue.bridge.users.dto.ResetPasswordRequest;
 import com.blue.bridge.users.entity.PasswordResetCode;
@@ -23,7 +27,7 @@ import com.blue.bridge.users.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -37,8 +41,9 @@ import java.util.Optional;
 public class AuthServiceImp implements AuthService {
 
     private final UserRepo userRepo;
-    private final RoleRepo roleRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final RoleCatalog roleCatalog;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationService tokenRevocationService;
     private final JwtService jwtService;
     private final NotificationService notificationService;
 
@@ -47,6 +52,11 @@ public class AuthServiceImp implements AuthService {
 
     private final CodeGenerator codeGenerator;
     private final PasswordResetRepo passwordResetRepo;
+    private final RefreshTokenService refreshTokenService;
+
+    private final RateLimiter rateLimiter;
+
+    private static final int MAX_RESET_CODE_ATTEMPTS = 3;
 
     @Value("${password.reset.link}")
     private String resetLink;
@@ -56,6 +66,8 @@ public class AuthServiceImp implements AuthService {
 
     @Override
     public Response<String> register(RegistrationRequest request) {
+        rateLimiter.checkEmail(RateLimiter.REGISTER, request.getEmail());
+
         if (userRepo.findByEmail(request.getEmail()).isPresent()) {
             throw new BadRequestException("User with email already exists.");
         }
@@ -71,7 +83,7 @@ public class AuthServiceImp implements AuthService {
         }
 
         List<Role> roles = requestRoleNames.stream()
-                .map(roleRepo::findByName)
+                .map(roleCatalog::findByName)
                 .flatMap(Optional::stream)
                 .toList();
 
@@ -81,7 +93,7 @@ public class AuthServiceImp implements AuthService {
 
         User newUser = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .name(request.getName())
                 .roles(roles)
                 .build();
@@ -129,18 +141,27 @@ public class AuthServiceImp implements AuthService {
         String email = loginRequest.getEmail();
         String password = loginRequest.getPassword();
 
-        User user = userRepo.findByEmail(email)
+        rateLimiter.checkEmail(RateLimiter.LOGIN, email);
+
+        User user = userRepo.findWithRolesByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User not found."));
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             throw new BadRequestException("Password doesn't match.");
         }
 
-        String token = jwtService.generateToken(user.getEmail());
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+            userRepo.save(user);
+            log.info("Password hash upgraded for user: {}", user.getEmail());
+        }
+
+        String token = jwtService.generateToken(user);
 
         LoginResponse loginResponse = LoginResponse.builder()
                 .roles(user.getRoles().stream().map(Role::getName).toList())
                 .token(token)
+                .refreshToken(refreshTokenService.issue(user))
                 .build();
 
         return Response.<LoginResponse>builder()
@@ -151,23 +172,33 @@ public class AuthServiceImp implements AuthService {
     }
 
     @Override
-    public Response<?> forgetPassword(String email) {
-
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found."));
+    public Response<LoginResponse> refreshToken(RefreshTokenRequest refreshTokenRequest) {
 
-        passwordResetRepo.deleteByUserId(user.getId());
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+        User user = rotated.user();
 
-        String code = codeGenerator.generateUniqueCode();
+        LoginResponse loginResponse = LoginResponse.builder()
+                .roles(user.getRoles().stream().map(Role::getName).toList())
+                .token(jwtService.generateToken(user))
+                .refreshToken(rotated.refreshToken())
+                .build();
 
-        PasswordResetCode resetCode = PasswordResetCode.builder()
-                .user(user)
-                .code(code)
-                .expireDate(calculateExpiryDate())
-                .used(false)
+        return Response.<LoginResponse>builder()
+                .statusCode(200)
+                .message("Token refreshed successfully.")
+                .data(loginResponse)
                 .build();
+    }
 
-        passwordResetRepo.save(resetCode);
+    @Override
+    public Response<?> forgetPassword(String email) {
+
+        rateLimiter.checkEmail(RateLimiter.FORGOT_PASSWORD, email);
+
+        User user = userRepo.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("User not found."));
+
+        String code = issueResetCode(user);
 
         NotificationDTO passwordResetEmail = NotificationDTO.builder()
                 .recipient(user.getEmail())
@@ -195,14 +226,20 @@ public class AuthServiceImp implements AuthService {
         PasswordResetCode resetCode = passwordResetRepo.findByCode(code)
                 .orElseThrow(() -> new BadRequestException("Invalid reset code."));
 
+        if (resetCode.isUsed()) {
+            throw new BadRequestException("Reset code has already been used.");
+        }
+
         if (resetCode.getExpireDate().isBefore(LocalDateTime.now())) {
             passwordResetRepo.delete(resetCode);
             throw new BadRequestException("Reset code has expired.");
         }
 
         User user = resetCode.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
+        tokenRevocationService.bumpVersion(user);
         userRepo.save(user);
+        tokenRevocationService.publish(user);
 
         passwordResetRepo.delete(resetCode);
 
@@ -255,6 +292,25 @@ public class AuthServiceImp implements AuthService {
         notificationService.sendEmail(welcomeEmail, user);
     }
 
+    private String issueResetCode(User user) {
+
+        LocalDateTime expireDate = calculateExpiryDate();
+
+        for (int attempt = 1; ; attempt++) {
+            String code = codeGenerator.generateCode();
+
+            try {
+                passwordResetRepo.upsertForUser(user.getId(), code, expireDate);
+                return code;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_RESET_CODE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Reset code collision, retrying (attempt {})", attempt);
+            }
+        }
+    }
+
     private LocalDateTime calculateExpiryDate() {
         return LocalDateTime.now().plusHours(5);
     }
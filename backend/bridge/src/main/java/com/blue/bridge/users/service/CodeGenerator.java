@@ -1,43 +1,30 @@
 package com.blue.bridge.users.service;
 
-import com.blue.bridge.users.entity.PasswordResetCode;
-import com.blue.bridge.users.repo.PasswordResetRepo;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
 
 @Component
-@RequiredArgsConstructor
 public class CodeGenerator {
 
-    private final PasswordResetRepo passwordResetRepo;
-
     private static final String ALPHA_NUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
 
-    private static final int CODE_LENGTH = 5;
-
-    public String generateUniqueCode() {
-
-        String code;
+    private static final int CODE_LENGTH = 10;
 
-        do {
-            code = generateRandomCode();
-        } while (passwordResetRepo.findByCode(code).isPresent());
-
-            return code;
-    }
+    private final SecureRandom random = new SecureRandom();
 
-    private String generateRandomCode() {
+    /**
+     * 36^10 possible codes, so collisions are rare enough that uniqueness is left to the
+     * unique index on password_reset_code.code and the caller simply retries on a violation.
+     */
+    public String generateCode() {
 
-        StringBuilder sb = new StringBuilder(CODE_LENGTH);
-        SecureRandom random = new SecureRandom();
+        char[] code = new char[CODE_LENGTH];
 
         for (int i = 0; i < CODE_LENGTH; i++) {
-            int index = random.nextInt(ALPHA_NUMERIC.length());
-            sb.append(ALPHA_NUMERIC.charAt(index));
+            code[i] = ALPHA_NUMERIC.charAt(random.nextInt(ALPHA_NUMERIC.length()));
         }
 
-        return sb.toString();
+        return new String(code);
     }
 }
@@ -0,0 +1,104 @@
+package com.blue.bridge.users.service;
+
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.doctor.repo.DoctorRepository;
+import com.blue.bridge.exceptions.NotFoundException;
+import com.blue.bridge.patient.entity.Patient;
+import com.blue.bridge.patient.repo.PatientRepo;
+import com.blue.bridge.security.AuthUser;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.UserRepo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The authenticated user of the current request. The user and its doctor or patient profile
+ * are each loaded at most once per request, however many services ask for them.
+ * <p>
+ * Only usable on the thread serving the request. Scheduled jobs, {@code @Async} methods and the
+ * threads that send server-sent events have no request scope, so calling this bean there fails;
+ * resolve what they need on the request thread and pass it along, as the event stream does with
+ * the subscriber's user id.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentActor {
+
+    private final UserRepo userRepo;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepo patientRepo;
+
+    private User user;
+
+    private Optional<Doctor> doctor;
+
+    private Optional<Patient> patient;
+
+    public User getUser() {
+
+        if (user == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null) {
+                throw new NotFoundException("User is not authenticated.");
+            }
+
+            user = userRepo.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new NotFoundException("User not found."));
+        }
+
+        return user;
+    }
+
+    /**
+     * The id of the authenticated user, read from the principal when it carries one so no
+     * lookup is needed.
+     */
+    public Long getUserId() {
+
+        if (user == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser
+                    && authUser.getUser().getId() != null) {
+                return authUser.getUser().getId();
+            }
+        }
+
+        return getUser().getId();
+    }
+
+    public boolean hasRole(String roleName) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> roleName.equals(authority.getAuthority()));
+    }
+
+    public Optional<Doctor> getDoctor() {
+
+        if (doctor == null) {
+            doctor = doctorRepository.findByUser(getUser());
+        }
+
+        return doctor;
+    }
+
+    public Optional<Patient> getPatient() {
+
+        if (patient == null) {
+            patient = patientRepo.findByUser(getUser());
+        }
+
+        return patient;
+    }
+}
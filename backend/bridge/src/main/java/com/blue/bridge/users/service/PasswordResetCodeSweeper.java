@@ -0,0 +1,70 @@
+package com.blue.bridge.users.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.users.repo.PasswordResetRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired and used reset codes in small batches. Rows are claimed with
+ * FOR UPDATE SKIP LOCKED, so several nodes can sweep at the same time without blocking
+ * each other or deleting the same rows twice.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PasswordResetCodeSweeper {
+
+    private final PasswordResetRepo passwordResetRepo;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.reset.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${password.reset.sweeper.time-budget-ms:2000}")
+    private long timeBudgetMs;
+
+    private Counter purgedRows;
+
+    private Timer runTimer;
+
+    @PostConstruct
+    private void init() {
+        this.purgedRows = Counter.builder("password.reset.sweeper.purged").register(meterRegistry);
+        this.runTimer = Timer.builder("password.reset.sweeper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${password.reset.sweeper.interval-ms:600000}", initialDelay = 60_000)
+    public void purgeExpiredCodes() {
+        runTimer.record(this::purgeWithinBudget);
+    }
+
+    private void purgeWithinBudget() {
+
+        long deadline = System.currentTimeMillis() + timeBudgetMs;
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = passwordResetRepo.deleteExpiredOrUsed(now, batchSize);
+            total += deleted;
+            purgedRows.increment(deleted);
+        } while (deleted == batchSize && System.currentTimeMillis() < deadline);
+
+        if (total > 0) {
+            log.info("Purged {} expired or used password reset codes", total);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.blue.bridge.users.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.security.TokenHasher;
+import com.blue.bridge.users.entity.RefreshToken;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.RefreshTokenRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque refresh tokens. Only a SHA-256 hash is stored, every refresh rotates the token
+ * within its family, and presenting an already rotated token revokes the whole family.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+    private final TokenHasher tokenHasher;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refresh.expiration.time:1209600000}")
+    private long refreshExpirationTime;
+
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the given refresh token and returns the user it belongs to together with the
+     * replacement token. Costs one indexed lookup, one conditional update and one insert, all in
+     * one transaction, so a token is never consumed without its replacement being stored. The
+     * transaction still commits when the token is refused, so a detected reuse keeps its family
+     * revoked.
+     */
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public RotatedToken rotate(String rawToken) {
+
+        RefreshToken refreshToken = refreshTokenRepo.findByTokenHashWithUser(tokenHasher.hash(rawToken))
+                .orElseThrow(() -> new BadRequestException("Invalid refresh token."));
+
+        if (refreshToken.isRevoked() || refreshTokenRepo.markRevoked(refreshToken.getId()) == 0) {
+            refreshTokenRepo.revokeFamily(refreshToken.getFamilyId());
+            log.warn("Refresh token reuse detected for user: {}", refreshToken.getUser().getEmail());
+            throw new BadRequestException("Refresh token has already been used.");
+        }
+
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Refresh token has expired.");
+        }
+
+        User user = refreshToken.getUser();
+
+        return new RotatedToken(user, issue(user, refreshToken.getFamilyId()));
+    }
+
+    private String issue(User user, String familyId) {
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(tokenHasher.hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshExpirationTime, ChronoUnit.MILLIS))
+                .revoked(false)
+                .build();
+
+        refreshTokenRepo.save(refreshToken);
+
+        return rawToken;
+    }
+
+    public record RotatedToken(User user, String refreshToken) {
+    }
+}
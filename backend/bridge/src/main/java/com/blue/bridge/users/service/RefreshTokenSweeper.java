@@ -0,0 +1,70 @@
+package com.blue.bridge.users.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.blue.bridge.users.repo.RefreshTokenRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired refresh tokens in small batches, stopping once the time budget is spent so a
+ * large backlog is worked off over several runs instead of in one long one. Rows are claimed
+ * with FOR UPDATE SKIP LOCKED, so nodes sweeping at the same time do not block each other.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${jwt.refresh.sweeper.time-budget-ms:2000}")
+    private long timeBudgetMs;
+
+    private Counter purgedRows;
+
+    private Timer runTimer;
+
+    @PostConstruct
+    private void init() {
+        this.purgedRows = Counter.builder("jwt.refresh.sweeper.purged").register(meterRegistry);
+        this.runTimer = Timer.builder("jwt.refresh.sweeper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}", initialDelay = 60_000)
+    public void purgeExpiredTokens() {
+        runTimer.record(this::purgeWithinBudget);
+    }
+
+    private void purgeWithinBudget() {
+
+        long deadline = System.currentTimeMillis() + timeBudgetMs;
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = refreshTokenRepo.deleteExpired(now, batchSize);
+            total += deleted;
+            purgedRows.increment(deleted);
+        } while (deleted == batchSize && System.currentTimeMillis() < deadline);
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens", total);
+        }
+    }
+}
@@ -20,5 +20,7 @@ public interface UserService {
 
     Response<?> updatePassword(UpdatePasswordRequest updatePasswordRequest);
 
+    Response<?> revokeTokens(Long userId);
+
     Response<?> uploadProfilePicture(MultipartFile file);
 }
@@ -5,6 +5,8 @@ import com.blue.bridge.exceptions.NotFoundException;
 import com.blue.bridge.notification.dto.NotificationDTO;
 import com.blue.bridge.notification.service.NotificationService;
 import com.blue.bridge.res.Response;
+import com.blue.bridge.security.PasswordHashingService;
+import com.blue.bridge.security.TokenRevocationService;
 import com.blue.bridge.users.dto.UpdatePasswordRequest;
 import com.blue.bridge.users.dto.UserDTO;
 import com.blue.bridge.users.entity.User;
@@ -13,9 +15,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -35,24 +34,16 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepo userRepo;
     private final ModelMapper modelMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final NotificationService notificationService;
+    private final CurrentActor currentActor;
+    private final TokenRevocationService tokenRevocationService;
 
     private final String uploadDir = "uploads/profile-pictures/";
 
     @Override
     public User getCurrentUser() {
-
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null) {
-            throw new NotFoundException("User is not authenticated.");
-        }
-
-        String email = authentication.getName();
-
-        return userRepo.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found."));
+        return currentActor.getUser();
     }
 
     @Override
@@ -110,12 +101,14 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Old and new password required.");
         }
 
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(oldPassword, user.getPassword())) {
             throw new BadRequestException("Old password not correct.");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
+        tokenRevocationService.bumpVersion(user);
         userRepo.save(user);
+        tokenRevocationService.publish(user);
 
         NotificationDTO notificationDTO = NotificationDTO.builder()
                 .recipient(user.getEmail())
@@ -134,6 +127,17 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    @Override
+    public Response<?> revokeTokens(Long userId) {
+
+        tokenRevocationService.revokeAll(userId);
+
+        return Response.builder()
+                .statusCode(200)
+                .message("All sessions for the user have been revoked.")
+                .build();
+    }
+
     @Override
     public Response<?> uploadProfilePicture(MultipartFile file) {
 
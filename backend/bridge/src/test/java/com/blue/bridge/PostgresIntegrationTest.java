@@ -0,0 +1,158 @@
+package com.blue.bridge;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.appointment.repo.AppointmentRepo;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.doctor.repo.DoctorRepository;
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.enums.Specialization;
+import com.blue.bridge.notification.service.NotificationService;
+import com.blue.bridge.patient.entity.Patient;
+import com.blue.bridge.patient.repo.PatientRepo;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.UserRepo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Boots the whole application against a throwaway Postgres, so the exclusion constraint and
+ * the native queries run for real. Skipped when no Docker daemon is available.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "jwt.secret.string=test-secret-test-secret-test-secret-test-secret",
+        "jwt.expiration.time=3600000",
+        "spring.mail.username=test@bluebridge.local",
+        "spring.mail.password=test",
+        "login.link=http://localhost:4200/login",
+        "password.reset.link=http://localhost:4200/reset-password?code=",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blue.bridge.StatementCounter"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @MockitoBean
+    protected NotificationService notificationService;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected UserRepo userRepo;
+
+    @Autowired
+    protected PatientRepo patientRepo;
+
+    @Autowired
+    protected DoctorRepository doctorRepository;
+
+    @Autowired
+    protected AppointmentRepo appointmentRepo;
+
+    protected Patient createPatient() {
+
+        User user = createUser("patient");
+
+        return patientRepo.save(Patient.builder()
+                .firstName("Test")
+                .lastName("Patient")
+                .knownAllergies("None recorded")
+                .user(user)
+                .build());
+    }
+
+    protected Doctor createDoctor() {
+
+        User user = createUser("doctor");
+
+        return doctorRepository.save(Doctor.builder()
+                .firstName("Test")
+                .lastName("Doctor")
+                .specialization(Specialization.values()[0])
+                .licenseNumber(UUID.randomUUID().toString())
+                .user(user)
+                .build());
+    }
+
+    protected Appointment createAppointment(Doctor doctor, Patient patient, LocalDateTime startTime) {
+
+        return appointmentRepo.save(Appointment.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .meetingLink("https://meet.jit.si/test-" + UUID.randomUUID())
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(patient)
+                .build());
+    }
+
+    /**
+     * Runs the action the way a web request would: with the given user authenticated, a request
+     * scope for {@code CurrentActor} and an entity manager held open for the whole call.
+     */
+    protected <T> T asUser(User user, String role, Supplier<T> action) {
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                user.getEmail(), null, List.of(new SimpleGrantedAuthority(role))));
+
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+            requestAttributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private User createUser(String kind) {
+
+        String email = kind + "-" + UUID.randomUUID() + "@bluebridge.local";
+
+        return userRepo.save(User.builder()
+                .name("Test " + kind)
+                .email(email)
+                .password("not-a-real-hash")
+                .roles(new ArrayList<>())
+                .build());
+    }
+}
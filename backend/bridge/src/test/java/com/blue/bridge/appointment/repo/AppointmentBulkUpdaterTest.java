@@ -0,0 +1,33 @@
+package com.blue.bridge.appointment.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.entity.Appointment;
+
+class AppointmentBulkUpdaterTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppointmentBulkUpdater appointmentBulkUpdater;
+
+    @Test
+    void remindersForAPreviousStartTimeAreNotClaimed() {
+
+        LocalDateTime startTime = LocalDateTime.now().plusHours(20).truncatedTo(ChronoUnit.MINUTES);
+        Appointment appointment = createAppointment(createDoctor(), createPatient(), startTime);
+        Long id = appointment.getId();
+
+        // What a node that missed the reschedule still holds in its wheel.
+        assertThat(appointmentBulkUpdater.claimReminders(Map.of(id, startTime.minusHours(3)), 1)).isEmpty();
+
+        assertThat(appointmentBulkUpdater.claimReminders(Map.of(id, startTime), 1)).containsExactly(id);
+        assertThat(appointmentBulkUpdater.claimReminders(Map.of(id, startTime), 1)).isEmpty();
+    }
+}
@@ -0,0 +1,71 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.dto.AppointmentChangesDTO;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.config.DatabaseSchemaInitializer;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.patient.entity.Patient;
+
+class AppointmentChangesTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DatabaseSchemaInitializer databaseSchemaInitializer;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void firstSyncReturnsAppointmentsThatPredateTheChangeColumn() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+
+        Long upcoming = createAppointment(doctor, patient, base).getId();
+        Long later = createAppointment(doctor, patient, base.plusDays(30)).getId();
+        Long changed = createAppointment(doctor, patient, base.plusHours(2)).getId();
+
+        // Rows written before updated_at existed, and one changed a minute ago.
+        jdbcTemplate.update("UPDATE appointments SET updated_at = NULL WHERE id IN (:ids)",
+                Map.of("ids", List.of(upcoming, later)));
+        jdbcTemplate.update("UPDATE appointments SET updated_at = :updatedAt WHERE id = :id",
+                Map.of("updatedAt", LocalDateTime.now().minusMinutes(1), "id", changed));
+        databaseSchemaInitializer.afterSingletonsInstantiated();
+
+        List<Long> synced = asUser(patient.getUser(), "PATIENT", () -> {
+            List<Long> ids = new ArrayList<>();
+            LocalDateTime since = null;
+            Long afterId = null;
+
+            while (true) {
+                AppointmentChangesDTO page = appointmentService.getMyAppointmentChanges(since, afterId, 1).getData();
+                page.getAppointments().stream().map(AppointmentDTO::getId).forEach(ids::add);
+
+                if (!page.isHasMore()) {
+                    return ids;
+                }
+
+                since = page.getNextSince();
+                afterId = page.getNextAfterId();
+            }
+        });
+
+        assertThat(synced).containsExactly(upcoming, later, changed);
+    }
+}
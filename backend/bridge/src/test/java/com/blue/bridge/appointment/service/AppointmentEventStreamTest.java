@@ -0,0 +1,112 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.blue.bridge.appointment.event.AppointmentEvent;
+import com.blue.bridge.enums.AppointmentEventType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AppointmentEventStreamTest {
+
+    private static final Long STALLED_USER = 1L;
+
+    private static final Long READING_USER = 2L;
+
+    private final AppointmentEventStream stream = new AppointmentEventStream(new SimpleMeterRegistry());
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stream, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(stream, "maxConnections", 10);
+        ReflectionTestUtils.setField(stream, "maxConnectionsPerUser", 5);
+        ReflectionTestUtils.setField(stream, "bufferSize", 16);
+        ReflectionTestUtils.setField(stream, "threads", 1);
+        ReflectionTestUtils.setField(stream, "sendTimeoutMs", 200L);
+        ReflectionTestUtils.invokeMethod(stream, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        ReflectionTestUtils.invokeMethod(stream, "shutdown");
+    }
+
+    @Test
+    void aClientThatStopsReadingIsDroppedWithoutStallingTheOthers() throws Exception {
+
+        AtomicInteger stalledWrites = new AtomicInteger();
+        List<SseEmitter.SseEventBuilder> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+
+        register(STALLED_USER, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                stalledWrites.incrementAndGet();
+                awaitQuietly(unblock);
+            }
+        });
+        register(READING_USER, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                received.add(builder);
+                delivered.countDown();
+            }
+        });
+
+        long started = System.nanoTime();
+        // Both users share the single sender, and the stalled one is written to first.
+        stream.onAppointmentEvent(event());
+        stream.onAppointmentEvent(event());
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2_000);
+        assertThat(stalledWrites).hasValue(1);
+        assertThat(emitters()).doesNotContainKey(STALLED_USER).containsKey(READING_USER);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Set<SseEmitter>> emitters() {
+        return (Map<Long, Set<SseEmitter>>) ReflectionTestUtils.getField(stream, "emitters");
+    }
+
+    private void register(Long userId, SseEmitter emitter) {
+        Set<SseEmitter> userEmitters = new CopyOnWriteArraySet<>();
+        userEmitters.add(emitter);
+        emitters().put(userId, userEmitters);
+        ((AtomicInteger) ReflectionTestUtils.getField(stream, "connections")).incrementAndGet();
+    }
+
+    private static AppointmentEvent event() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new AppointmentEvent(AppointmentEventType.BOOKED, 10L, 20L, STALLED_USER, 30L, READING_USER,
+                start, start.plusHours(1), null, null);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentRescheduleDTO;
+import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.exceptions.GlobalExceptionHandler;
+import com.blue.bridge.patient.entity.Patient;
+
+/**
+ * Writes overlapping appointments straight past the booking locks, so only the
+ * appointments_no_overlap exclusion constraint stands in the way, and checks how its violation
+ * surfaces from the booking endpoints.
+ */
+class AppointmentOverlapTest extends PostgresIntegrationTest {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Test
+    void overlappingScheduledAppointmentsViolateTheConstraint() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime start = LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.HOURS);
+        createAppointment(doctor, patient, start);
+
+        DataIntegrityViolationException violation = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> createAppointment(doctor, patient, start.plusMinutes(30)));
+
+        assertThat(sqlState(violation)).isEqualTo(EXCLUSION_VIOLATION);
+    }
+
+    @Test
+    void cancelledAndBackToBackAppointmentsDoNotOverlap() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime start = LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.HOURS);
+        createAppointment(doctor, patient, start);
+
+        Appointment cancelled = appointmentRepo.save(Appointment.builder()
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .meetingLink("https://meet.jit.si/test-" + UUID.randomUUID())
+                .status(AppointmentStatus.CANCELLED)
+                .doctor(doctor)
+                .patient(patient)
+                .build());
+
+        assertThat(cancelled.getId()).isNotNull();
+        assertThat(createAppointment(doctor, patient, start.plusHours(1)).getId()).isNotNull();
+        assertThat(createAppointment(createDoctor(), patient, start).getId()).isNotNull();
+    }
+
+    @Test
+    void bookingAnOverlappingSlotIsABadRequest() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime start = LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.HOURS);
+        createAppointment(doctor, patient, start);
+
+        BadRequestException exception = catchThrowableOfType(BadRequestException.class,
+                () -> asUser(patient.getUser(), "PATIENT", () -> appointmentService.bookAppointment(AppointmentDTO.builder()
+                        .doctorId(doctor.getId())
+                        .startTime(start.plusMinutes(30))
+                        .purposeOfConsultation("Check-up")
+                        .build())));
+
+        assertThat(exception).hasMessageContaining("not available");
+        assertThat(globalExceptionHandler.handleAllBadRequestExceptions(exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void reschedulingOntoAnotherAppointmentIsABadRequest() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime start = LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.HOURS);
+        createAppointment(doctor, patient, start);
+        Long moved = createAppointment(doctor, patient, start.plusHours(3)).getId();
+
+        assertThatThrownBy(() -> asUser(patient.getUser(), "PATIENT", () -> appointmentService.rescheduleAppointment(moved,
+                AppointmentRescheduleDTO.builder().startTime(start.plusMinutes(15)).build())))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("not available");
+
+        assertThat(appointmentRepo.findById(moved)).get()
+                .extracting(Appointment::getStartTime).isEqualTo(start.plusHours(3));
+    }
+
+    private static String sqlState(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.StatementCounter;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentPageDTO;
+import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.patient.entity.Patient;
+
+/**
+ * Guards the statement counts of the appointment listing and of the lazily loaded attributes,
+ * so an N+1 or an eager association slipping back in fails the build.
+ */
+class AppointmentStatementCountTest extends PostgresIntegrationTest {
+
+    private static final Pattern CONSULTATIONS_TABLE = Pattern.compile("\\bconsultations\\b");
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void listingIssuesTheSameStatementsWhateverTheNumberOfAppointments() {
+
+        Doctor doctor = createDoctor();
+        Patient fewAppointments = createPatient();
+        Patient manyAppointments = createPatient();
+        createAppointments(doctor, fewAppointments, 0, 2);
+        createAppointments(doctor, manyAppointments, 2, 20);
+
+        List<String> few = statementsOfListing(fewAppointments);
+        List<String> many = statementsOfListing(manyAppointments);
+
+        assertThat(many).hasSameSizeAs(few);
+        assertThat(many).noneMatch(sql -> sql.contains("known_allergies"));
+        assertThat(many).noneMatch(sql -> CONSULTATIONS_TABLE.matcher(sql).find());
+    }
+
+    @Test
+    void pagesIssueTheSameStatementsWhateverTheFilters() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        List<Long> ids = createAppointments(doctor, patient, 0, 20);
+        LocalDateTime base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+
+        List<String> unfiltered = asUser(patient.getUser(), "PATIENT", () -> {
+            StatementCounter.clear();
+            AppointmentPageDTO page = appointmentService.getMyAppointmentsPage(null, null, null, null, 5).getData();
+
+            assertThat(page.getAppointments()).hasSize(5);
+            assertThat(page.getNextCursor()).isEqualTo(ids.get(15));
+            return StatementCounter.statements();
+        });
+
+        List<String> filtered = asUser(patient.getUser(), "PATIENT", () -> {
+            StatementCounter.clear();
+            AppointmentPageDTO page = appointmentService.getMyAppointmentsPage(AppointmentStatus.SCHEDULED,
+                    base.plusHours(2), base.plusHours(12), ids.get(10), 5).getData();
+
+            assertThat(page.getAppointments()).extracting(AppointmentDTO::getId)
+                    .containsExactly(ids.get(9), ids.get(8), ids.get(7), ids.get(6), ids.get(5));
+            return StatementCounter.statements();
+        });
+
+        assertThat(filtered).hasSameSizeAs(unfiltered);
+        assertThat(filtered).noneMatch(sql -> sql.contains("known_allergies"));
+        assertThat(filtered).noneMatch(sql -> CONSULTATIONS_TABLE.matcher(sql).find());
+    }
+
+    @Test
+    void loadingAppointmentsDoesNotSelectTheirConsultations() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        List<Long> ids = createAppointments(doctor, patient, 0, 10);
+
+        List<String> statements = transactionTemplate.execute(status -> {
+            StatementCounter.clear();
+            appointmentRepo.findAllById(ids).forEach(Appointment::getStatus);
+            return StatementCounter.statements();
+        });
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements).noneMatch(sql -> CONSULTATIONS_TABLE.matcher(sql).find());
+    }
+
+    @Test
+    void knownAllergiesAreLoadedOnlyWhenRead() {
+
+        Long patientId = createPatient().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StatementCounter.clear();
+            Patient patient = patientRepo.findById(patientId).orElseThrow();
+
+            assertThat(StatementCounter.statements()).hasSize(1);
+            assertThat(StatementCounter.statements().getFirst()).doesNotContain("known_allergies");
+
+            assertThat(patient.getKnownAllergies()).isEqualTo("None recorded");
+            assertThat(StatementCounter.statements()).hasSize(2);
+        });
+    }
+
+    private List<String> statementsOfListing(Patient patient) {
+
+        return asUser(patient.getUser(), "PATIENT", () -> {
+            StatementCounter.clear();
+            appointmentService.getMyAppointments();
+            return StatementCounter.statements();
+        });
+    }
+
+    private List<Long> createAppointments(Doctor doctor, Patient patient, int firstSlot, int count) {
+
+        LocalDateTime base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+        List<Long> ids = new ArrayList<>();
+
+        for (int slot = firstSlot; slot < firstSlot + count; slot++) {
+            ids.add(createAppointment(doctor, patient, base.plusHours(slot)).getId());
+        }
+
+        return ids;
+    }
+}
@@ -0,0 +1,127 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.patient.entity.Patient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hammers a few doctors with overlapping bookings from many threads and checks that no two
+ * scheduled appointments of the same doctor ever overlap.
+ */
+@Slf4j
+class BookingStressTest extends PostgresIntegrationTest {
+
+    private static final int DOCTORS = 4;
+
+    private static final int SLOTS_PER_DOCTOR = 24;
+
+    private static final int ATTEMPTS_PER_SLOT = 4;
+
+    private static final String OVERLAPPING_PAIRS_SQL = """
+            SELECT COUNT(*)
+            FROM appointments a
+            JOIN appointments b ON a.doctor_id = b.doctor_id AND a.id < b.id
+            WHERE a.doctor_id IN (:doctorIds)
+              AND a.status = 'SCHEDULED' AND b.status = 'SCHEDULED'
+              AND a.start_time < b.end_time AND b.start_time < a.end_time
+            """;
+
+    private static final String SCHEDULED_COUNT_SQL = """
+            SELECT COUNT(*)
+            FROM appointments
+            WHERE doctor_id IN (:doctorIds) AND status = 'SCHEDULED'
+            """;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = {1, 4, 16, 32})
+    void concurrentBookingsNeverOverlap(int threads) throws Exception {
+
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(createDoctor());
+        }
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            patients.add(createPatient());
+        }
+
+        // Hour-long appointments starting every half hour, so neighbouring slots overlap too.
+        LocalDateTime base = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.HOURS);
+        int attempts = DOCTORS * SLOTS_PER_DOCTOR * ATTEMPTS_PER_SLOT;
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+
+        try {
+            for (int i = 0; i < attempts; i++) {
+                Doctor doctor = doctors.get(i % DOCTORS);
+                Patient patient = patients.get(i % threads);
+                LocalDateTime startTime = base.plusMinutes(30L * ((i / DOCTORS) % SLOTS_PER_DOCTOR));
+
+                futures.add(executor.submit(() -> asUser(patient.getUser(), "PATIENT", () -> {
+                    try {
+                        appointmentService.bookAppointment(AppointmentDTO.builder()
+                                .doctorId(doctor.getId())
+                                .startTime(startTime)
+                                .purposeOfConsultation("Stress test")
+                                .build());
+                        booked.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                })));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("{} threads: {} attempts, {} booked, {} rejected in {} s ({} attempts/s)",
+                threads, attempts, booked.get(), rejected.get(), String.format("%.2f", seconds),
+                String.format("%.0f", attempts / seconds));
+
+        Map<String, Object> params = Map.of("doctorIds", doctors.stream().map(Doctor::getId).toList());
+
+        assertThat(jdbcTemplate.queryForObject(OVERLAPPING_PAIRS_SQL, params, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(SCHEDULED_COUNT_SQL, params, Long.class)).isEqualTo(booked.get());
+        assertThat(booked.get() + rejected.get()).isEqualTo(attempts);
+        assertThat(booked.get()).isBetween(DOCTORS * SLOTS_PER_DOCTOR / 3, DOCTORS * SLOTS_PER_DOCTOR / 2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InMemoryIdempotencyStoreTest {
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(store, "maxEntries", 2);
+        ReflectionTestUtils.setField(store, "waitTimeoutMs", 1_000L);
+        ReflectionTestUtils.invokeMethod(store, "init");
+    }
+
+    @Test
+    void aFullStoreDropsTheOldestKeyAndKeepsTheNewResult() {
+
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("book", "first", 1, runs::incrementAndGet);
+        store.execute("book", "second", 2, runs::incrementAndGet);
+        store.execute("book", "third", 3, runs::incrementAndGet);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.execute("book", "third", 3, runs::incrementAndGet)).isEqualTo(3);
+        assertThat(store.execute("book", "first", 1, runs::incrementAndGet)).isEqualTo(4);
+    }
+}
@@ -0,0 +1,148 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.repo.IdempotencyRecordRepo;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.res.Response;
+import com.blue.bridge.security.TokenHasher;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Runs two stores against the same idempotency_records table, standing in for two nodes behind a
+ * load balancer without sticky sessions.
+ */
+class JdbcIdempotencyStoreTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private IdempotencyRecordRepo idempotencyRecordRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenHasher tokenHasher;
+
+    @Test
+    void aRetryOnAnotherNodeGetsTheOriginalResponse() {
+
+        String key = UUID.randomUUID().toString();
+        AppointmentDTO request = request();
+        Response<AppointmentDTO> original = response(request);
+
+        Response<AppointmentDTO> first = node().execute("book", key, request, () -> original);
+        Response<AppointmentDTO> retried = node().execute("book", key, request, () -> {
+            throw new AssertionError("The retry ran the booking again");
+        });
+
+        assertThat(first).isSameAs(original);
+        assertThat(objectMapper.writeValueAsString(retried)).isEqualTo(objectMapper.writeValueAsString(original));
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsABadRequest() {
+
+        String key = UUID.randomUUID().toString();
+        node().execute("book", key, request(), () -> response(request()));
+
+        AppointmentDTO other = request();
+        other.setPurposeOfConsultation("Follow-up");
+
+        assertThatThrownBy(() -> node().execute("book", key, other, () -> response(other)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void aFailedRequestCanBeRetriedOnAnotherNode() {
+
+        String key = UUID.randomUUID().toString();
+        AppointmentDTO request = request();
+
+        assertThatThrownBy(() -> node().execute("book", key, request, () -> {
+            throw new IllegalStateException("booking failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(node().execute("book", key, request, () -> response(request)).getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void aDuplicateOnAnotherNodeWaitsForTheRunningRequest() throws Exception {
+
+        String key = UUID.randomUUID().toString();
+        AppointmentDTO request = request();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Response<AppointmentDTO>> first = CompletableFuture.supplyAsync(
+                () -> node().execute("book", key, request, () -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return response(request);
+                }));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Response<AppointmentDTO>> duplicate = CompletableFuture.supplyAsync(
+                () -> node().execute("book", key, request, () -> {
+                    runs.incrementAndGet();
+                    return response(request);
+                }));
+
+        Thread.sleep(200);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+        assertThat(runs).hasValue(1);
+    }
+
+    private JdbcIdempotencyStore node() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(idempotencyRecordRepo, objectMapper, tokenHasher);
+        ReflectionTestUtils.setField(store, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(store, "waitTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(store, "leaseSeconds", 60L);
+        return store;
+    }
+
+    private static AppointmentDTO request() {
+        return AppointmentDTO.builder()
+                .doctorId(1L)
+                .startTime(LocalDateTime.of(2030, 1, 7, 10, 0))
+                .purposeOfConsultation("Check-up")
+                .build();
+    }
+
+    private static Response<AppointmentDTO> response(AppointmentDTO appointment) {
+        return Response.<AppointmentDTO>builder()
+                .statusCode(200)
+                .message("Appointment booked successfully.")
+                .data(appointment)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.blue.bridge.appointment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.StatementCounter;
+import com.blue.bridge.appointment.dto.AppointmentDTO;
+import com.blue.bridge.appointment.dto.AppointmentRescheduleDTO;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.patient.entity.Patient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares moving an appointment with the reschedule endpoint against cancelling it and booking
+ * the new slot, in statements and in emails sent.
+ */
+@Slf4j
+class RescheduleBenchmarkTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Test
+    void rescheduleCostsLessThanCancelThenBook() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime base = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.HOURS);
+
+        Long rescheduled = createAppointment(doctor, patient, base).getId();
+        Long cancelled = createAppointment(doctor, patient, base.plusHours(2)).getId();
+
+        Cost reschedule = measure(patient, () -> appointmentService.rescheduleAppointment(rescheduled,
+                AppointmentRescheduleDTO.builder().startTime(base.plusHours(4)).build()));
+
+        Cost cancelThenBook = measure(patient, () -> {
+            appointmentService.cancelAppointment(cancelled);
+            return appointmentService.bookAppointment(AppointmentDTO.builder()
+                    .doctorId(doctor.getId())
+                    .startTime(base.plusHours(6))
+                    .purposeOfConsultation("Follow-up")
+                    .build());
+        });
+
+        log.info("Reschedule: {} statements, {} emails. Cancel then book: {} statements, {} emails",
+                reschedule.statements(), reschedule.emails(), cancelThenBook.statements(), cancelThenBook.emails());
+
+        assertThat(reschedule.emails()).isEqualTo(2);
+        assertThat(cancelThenBook.emails()).isEqualTo(4);
+        assertThat(reschedule.statements()).isLessThan(cancelThenBook.statements());
+    }
+
+    private Cost measure(Patient patient, Supplier<?> action) {
+
+        Mockito.clearInvocations(notificationService);
+
+        int statements = asUser(patient.getUser(), "PATIENT", () -> {
+            StatementCounter.clear();
+            action.get();
+            return StatementCounter.statements().size();
+        });
+
+        int emails = 0;
+
+        for (Invocation invocation : Mockito.mockingDetails(notificationService).getInvocations()) {
+            emails += switch (invocation.getMethod().getName()) {
+                case "sendEmail" -> 1;
+                case "sendEmails" -> ((List<?>) invocation.getArgument(0)).size();
+                default -> 0;
+            };
+        }
+
+        return new Cost(statements, emails);
+    }
+
+    private record Cost(int statements, int emails) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.blue.bridge.consultation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.appointment.entity.Appointment;
+import com.blue.bridge.appointment.service.AppointmentService;
+import com.blue.bridge.consultation.dto.ConsultationDTO;
+import com.blue.bridge.consultation.repo.ConsultationRepo;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.patient.entity.Patient;
+
+class ConsultationServiceTest extends PostgresIntegrationTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ConsultationService consultationService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ConsultationRepo consultationRepo;
+
+    @Test
+    void addingNotesCompletesTheAppointmentWithASingleVersionBump() {
+
+        Doctor doctor = createDoctor();
+        Appointment appointment = createAppointment(doctor, createPatient(), nextSlot(1));
+        long version = appointment.getVersion();
+
+        asUser(doctor.getUser(), "DOCTOR", () -> consultationService.createConsultation(notes(appointment)));
+
+        Appointment completed = appointmentRepo.findById(appointment.getId()).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(completed.getVersion()).isEqualTo(version + 1);
+        assertThat(consultationRepo.existsByAppointmentId(appointment.getId())).isTrue();
+    }
+
+    @Test
+    void cancellingWhileNotesAreAddedLeavesOneConsistentOutcome() throws Exception {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int round = 0; round < ROUNDS; round++) {
+
+                Appointment appointment = createAppointment(doctor, patient, nextSlot(round + 1));
+                CountDownLatch start = new CountDownLatch(1);
+
+                CompletableFuture<Boolean> complete = CompletableFuture.supplyAsync(() -> succeeded(start,
+                        () -> asUser(doctor.getUser(), "DOCTOR", () -> consultationService.createConsultation(notes(appointment)))),
+                        executor);
+                CompletableFuture<Boolean> cancel = CompletableFuture.supplyAsync(() -> succeeded(start,
+                        () -> asUser(patient.getUser(), "PATIENT", () -> appointmentService.cancelAppointment(appointment.getId()))),
+                        executor);
+
+                start.countDown();
+                boolean completed = complete.get();
+                boolean cancelled = cancel.get();
+
+                AppointmentStatus status = appointmentRepo.findById(appointment.getId()).orElseThrow().getStatus();
+                boolean hasNotes = consultationRepo.existsByAppointmentId(appointment.getId());
+
+                assertThat(completed).isNotEqualTo(cancelled);
+                assertThat(status).isEqualTo(completed ? AppointmentStatus.COMPLETED : AppointmentStatus.CANCELLED);
+                assertThat(hasNotes).isEqualTo(completed);
+            }
+        }
+    }
+
+    private static boolean succeeded(CountDownLatch start, Runnable action) {
+        try {
+            start.await();
+            action.run();
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ConsultationDTO notes(Appointment appointment) {
+        return ConsultationDTO.builder()
+                .appointmentId(appointment.getId())
+                .subjectiveNotes("Headache for three days")
+                .assessment("Tension headache")
+                .plan("Rest and fluids")
+                .build();
+    }
+
+    private static LocalDateTime nextSlot(int days) {
+        return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,65 @@
+package com.blue.bridge.doctor.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.config.DatabaseNotifications;
+import com.blue.bridge.doctor.entity.Doctor;
+
+/**
+ * Stands in for a second node by writing an appointment straight to the table, which this
+ * node's index never hears about, and then sending the announcement that node would send.
+ */
+class DoctorAvailabilityIndexTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Autowired
+    private DatabaseNotifications databaseNotifications;
+
+    @Test
+    void aSlotBookedOnAnotherNodeStopsBeingOfferedOnceAnnounced() throws Exception {
+
+        Doctor doctor = createDoctor();
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+
+        assertThat(doctorAvailabilityIndex.isFree(doctor.getId(), start)).isTrue();
+
+        createAppointment(doctor, createPatient(), start);
+        assertThat(doctorAvailabilityIndex.isFree(doctor.getId(), start)).isTrue();
+
+        long day = start.toLocalDate().toEpochDay();
+        databaseNotifications.publish("doctor_availability", "other-node:" + doctor.getId() + ":" + day + ":" + day);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (doctorAvailabilityIndex.isFree(doctor.getId(), start) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(doctorAvailabilityIndex.isFree(doctor.getId(), start)).isFalse();
+    }
+
+    @Test
+    void itsOwnAnnouncementsAreSkipped() throws Exception {
+
+        Doctor doctor = createDoctor();
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+
+        assertThat(doctorAvailabilityIndex.isFree(doctor.getId(), start)).isTrue();
+        int indexed = doctorAvailabilityIndex.size();
+
+        // Announces the change from this node; only the local drop should happen.
+        doctorAvailabilityIndex.invalidate(doctor.getId(), start, start.plusHours(1));
+        assertThat(doctorAvailabilityIndex.isFree(doctor.getId(), start)).isTrue();
+        Thread.sleep(500);
+
+        assertThat(doctorAvailabilityIndex.size()).isEqualTo(indexed);
+    }
+}
@@ -0,0 +1,43 @@
+package com.blue.bridge.doctor.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.doctor.dto.DoctorUnavailabilityDTO;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.enums.AppointmentStatus;
+import com.blue.bridge.patient.entity.Patient;
+
+class DoctorServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Test
+    void blockingARangeThatStartedLeavesPastAppointmentsAlone() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+        Long past = createAppointment(doctor, patient, now.minusHours(2)).getId();
+        Long upcoming = createAppointment(doctor, patient, now.plusHours(3)).getId();
+
+        DoctorUnavailabilityDTO blocked = asUser(doctor.getUser(), "DOCTOR", () -> doctorService.blockTimeRange(null,
+                DoctorUnavailabilityDTO.builder()
+                        .startTime(now.minusHours(3))
+                        .endTime(now.plusDays(1))
+                        .reason("Conference")
+                        .build()).getData());
+
+        assertThat(blocked.getCancelledAppointments()).isEqualTo(1);
+        assertThat(appointmentRepo.findById(upcoming).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+        assertThat(appointmentRepo.findById(past).orElseThrow().getStatus()).isNotEqualTo(AppointmentStatus.CANCELLED);
+    }
+}
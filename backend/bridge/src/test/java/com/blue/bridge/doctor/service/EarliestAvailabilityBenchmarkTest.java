@@ -0,0 +1,150 @@
+package com.blue.bridge.doctor.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.enums.Specialization;
+import com.blue.bridge.patient.entity.Patient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the earliest-availability search over thousands of doctors of one specialization with
+ * 100k appointments spread across the search horizon, week by week, once with the index capped
+ * at the old 50000 days and once with the configured cap.
+ */
+@Slf4j
+class EarliestAvailabilityBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final Specialization SPECIALIZATION = Specialization.EMERGENCY_MEDICINE;
+
+    private static final int DOCTORS = 3000;
+
+    private static final int APPOINTMENTS = 100_000;
+
+    private static final int HORIZON_WEEKS = 9;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void weeklySearchesAcrossTheHorizonFitInTheIndex() {
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        seed(base);
+
+        int configuredMaxDays = (int) ReflectionTestUtils.getField(doctorAvailabilityIndex, "maxDays");
+        int doctors = doctorRepository.findIdsBySpecialization(SPECIALIZATION).size();
+
+        try {
+            long capped = sweep(base, 50_000);
+            int cappedSize = doctorAvailabilityIndex.size();
+
+            long sized = sweep(base, configuredMaxDays);
+            int sizedSize = doctorAvailabilityIndex.size();
+            long warm = sweep(base, configuredMaxDays, false);
+
+            log.info("{} doctors, {} weekly searches. Capped at 50000 days: {} ms, {} days kept. "
+                            + "Capped at {} days: {} ms cold, {} ms warm, {} days kept",
+                    doctors, HORIZON_WEEKS, capped, cappedSize, configuredMaxDays, sized, warm, sizedSize);
+
+            assertThat(cappedSize).isLessThanOrEqualTo(50_000);
+            // Every day the sweep touched is still indexed, so nothing was evicted on the way.
+            assertThat(sizedSize).isGreaterThanOrEqualTo(doctors * HORIZON_WEEKS * 7);
+            assertThat(sizedSize).isLessThanOrEqualTo(configuredMaxDays);
+        } finally {
+            ReflectionTestUtils.setField(doctorAvailabilityIndex, "maxDays", configuredMaxDays);
+            ((Map<?, ?>) ReflectionTestUtils.getField(doctorAvailabilityIndex, "days")).clear();
+            removeSeed();
+        }
+    }
+
+    private long sweep(LocalDateTime base, int maxDays) {
+        return sweep(base, maxDays, true);
+    }
+
+    private long sweep(LocalDateTime base, int maxDays, boolean cold) {
+
+        ReflectionTestUtils.setField(doctorAvailabilityIndex, "maxDays", maxDays);
+
+        if (cold) {
+            ((Map<?, ?>) ReflectionTestUtils.getField(doctorAvailabilityIndex, "days")).clear();
+        }
+
+        long started = System.nanoTime();
+
+        for (int week = 0; week < HORIZON_WEEKS; week++) {
+            assertThat(doctorService.findEarliestAvailable(SPECIALIZATION, base.plusWeeks(week), 50).getData())
+                    .hasSize(50);
+        }
+
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    private void removeSeed() {
+
+        String benchmarkUsers = "SELECT id FROM users WHERE email LIKE 'benchmark-%'";
+
+        jdbcTemplate.update("DELETE FROM appointments WHERE doctor_id IN (SELECT id FROM doctors WHERE user_id IN ("
+                + benchmarkUsers + "))", Map.of());
+        jdbcTemplate.update("DELETE FROM doctors WHERE user_id IN (" + benchmarkUsers + ")", Map.of());
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'benchmark-%'", Map.of());
+    }
+
+    /**
+     * Inserts the doctors and appointments in bulk. Each doctor gets an appointment roughly every
+     * 43 hours, so the appointments cover the whole horizon without overlapping.
+     */
+    private void seed(LocalDateTime base) {
+
+        String run = UUID.randomUUID().toString();
+        Patient patient = createPatient();
+
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, token_version)
+                SELECT 'Benchmark doctor', 'benchmark-' || :run || '-' || g || '@bluebridge.local', 'not-a-real-hash', 0
+                FROM generate_series(1, :doctors) g
+                """, Map.of("run", run, "doctors", DOCTORS));
+
+        jdbcTemplate.update("""
+                INSERT INTO doctors (first_name, last_name, specialization, license_number, user_id)
+                SELECT 'Benchmark', 'Doctor', :specialization, 'benchmark-' || u.id, u.id
+                FROM users u
+                WHERE u.email LIKE 'benchmark-' || :run || '-%'
+                """, Map.of("run", run, "specialization", SPECIALIZATION.name()));
+
+        jdbcTemplate.update("""
+                WITH d AS (
+                    SELECT doc.id, row_number() OVER (ORDER BY doc.id) - 1 AS n
+                    FROM doctors doc JOIN users u ON u.id = doc.user_id
+                    WHERE u.email LIKE 'benchmark-' || :run || '-%'
+                )
+                INSERT INTO appointments (start_time, end_time, meeting_link, status, reminder_stage, version,
+                                          updated_at, doctor_id, patient_id)
+                SELECT s.start_time, s.start_time + INTERVAL '1 hour', 'https://meet.jit.si/benchmark-' || g,
+                       'SCHEDULED', 0, 0, LOCALTIMESTAMP, d.id, :patientId
+                FROM generate_series(0, :appointments - 1) g
+                JOIN d ON d.n = g % :doctors
+                CROSS JOIN LATERAL (
+                    SELECT CAST(:base AS timestamp) + make_interval(hours => (g / :doctors) * 43 + g % 7) AS start_time
+                ) s
+                """, Map.of("run", run, "patientId", patient.getId(), "appointments", APPOINTMENTS,
+                "doctors", DOCTORS, "base", base));
+    }
+}
@@ -0,0 +1,30 @@
+package com.blue.bridge.patient.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.patient.dto.PatientDTO;
+import com.blue.bridge.patient.entity.Patient;
+
+class PatientServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void profilesIncludeTheLazilyLoadedAllergies() {
+
+        Patient patient = createPatient();
+
+        PatientDTO profile = asUser(patient.getUser(), "PATIENT",
+                () -> patientService.getPatientProfile().getData());
+        PatientDTO byId = asUser(patient.getUser(), "DOCTOR",
+                () -> patientService.getPatientById(patient.getId()).getData());
+
+        assertThat(profile.getKnownAllergies()).isEqualTo("None recorded");
+        assertThat(byId.getKnownAllergies()).isEqualTo("None recorded");
+    }
+}
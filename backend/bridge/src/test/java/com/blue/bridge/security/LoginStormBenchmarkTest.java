@@ -0,0 +1,210 @@
+package com.blue.bridge.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.ratelimit.service.RateLimiter;
+import com.blue.bridge.users.entity.User;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the latency of a cheap endpoint while logins arrive faster than the machine can hash
+ * them, through a real Tomcat with a small request pool. The hashing pool is run as configured
+ * and then widened past the request pool, which is what hashing on the request threads amounts
+ * to.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=40",
+        "security.password.hashing.threads=2",
+        "security.password.hashing.queue-capacity=8"
+})
+class LoginStormBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final String PASSWORD = "storm-password";
+
+    private static final int PROBES = 50;
+
+    private static final long PROBE_INTERVAL_MS = 100;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void allowEveryLogin() {
+        when(rateLimiter.tryAcquireForIp(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void otherEndpointsKeepTheirLatencyDuringALoginStorm() throws Exception {
+
+        User user = userRepo.save(User.builder()
+                .name("Storm")
+                .email("storm-" + UUID.randomUUID() + "@bluebridge.local")
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles(new ArrayList<>())
+                .build());
+
+        long hashMillis = timeOneHash();
+        // Three times what the machine can hash, so logins pile up whatever the pool size.
+        double loginsPerSecond = 3.0 * Runtime.getRuntime().availableProcessors() * 1000 / hashMillis;
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "executor");
+
+        probe(user, PROBE_INTERVAL_MS);
+        List<Long> quiet = probe(user, PROBE_INTERVAL_MS);
+        Storm bounded = storm(user, loginsPerSecond);
+
+        executor.setMaximumPoolSize(64);
+        executor.setCorePoolSize(64);
+        Storm widened;
+        try {
+            widened = storm(user, loginsPerSecond);
+        } finally {
+            executor.setCorePoolSize(2);
+            executor.setMaximumPoolSize(2);
+        }
+
+        log.info("Hash {} ms, {} logins/s. Probe p99: quiet {} ms, storm with bounded hashing {} ms "
+                        + "({} logins rejected with 503), storm with hashing widened to 64 threads {} ms",
+                hashMillis, Math.round(loginsPerSecond), p99(quiet), p99(bounded.probes()),
+                bounded.rejected(), p99(widened.probes()));
+
+        assertThat(bounded.rejected()).isPositive();
+        assertThat(p99(bounded.probes())).isLessThan(p99(widened.probes()));
+    }
+
+    private Storm storm(User user, double loginsPerSecond) throws Exception {
+
+        List<CompletableFuture<HttpResponse<Void>>> logins = Collections.synchronizedList(new ArrayList<>());
+        long intervalNanos = (long) (1_000_000_000 / loginsPerSecond);
+
+        Thread storm = Thread.ofVirtual().start(() -> {
+            long next = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                logins.add(client.sendAsync(login(user), HttpResponse.BodyHandlers.discarding()));
+                next += intervalNanos;
+                try {
+                    TimeUnit.NANOSECONDS.sleep(Math.max(0, next - System.nanoTime()));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        List<Long> probes;
+        try {
+            // Let the backlog build before probing.
+            Thread.sleep(1000);
+            probes = probe(user, PROBE_INTERVAL_MS);
+        } finally {
+            storm.interrupt();
+            storm.join();
+        }
+
+        long rejected = 0;
+        for (CompletableFuture<HttpResponse<Void>> login : logins) {
+            try {
+                if (login.get().statusCode() == 503) {
+                    rejected++;
+                }
+            } catch (Exception e) {
+                // Timed out in the backlog; only the probes are measured.
+            }
+        }
+
+        return new Storm(probes, rejected);
+    }
+
+    /**
+     * Fires the probes on a fixed schedule, without waiting for the previous one, and returns
+     * their latencies in milliseconds. A probe that times out counts as the full timeout.
+     */
+    private List<Long> probe(User user, long intervalMs) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/doctors/specializations"))
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+
+        List<CompletableFuture<Long>> probes = new ArrayList<>();
+
+        for (int i = 0; i < PROBES; i++) {
+            long started = System.nanoTime();
+            probes.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> failure == null && response.statusCode() == 200
+                            ? (System.nanoTime() - started) / 1_000_000
+                            : REQUEST_TIMEOUT.toMillis()));
+            Thread.sleep(intervalMs);
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        for (CompletableFuture<Long> probe : probes) {
+            latencies.add(probe.get());
+        }
+
+        return latencies;
+    }
+
+    private HttpRequest login(User user) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private long timeOneHash() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        long started = System.nanoTime();
+        passwordEncoder.matches(PASSWORD, hash);
+        return Math.max(1, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private record Storm(List<Long> probes, long rejected) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.blue.bridge.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.users.entity.User;
+
+class TokenRevocationServiceTest extends PostgresIntegrationTest {
+
+    private static final int REVOCATIONS = 8;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void concurrentRevocationsEachBumpTheVersion() throws Exception {
+
+        User user = createPatient().getUser();
+        long initialVersion = userRepo.findTokenVersionById(user.getId()).orElseThrow();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(REVOCATIONS)) {
+            List<CompletableFuture<Void>> revocations = new ArrayList<>();
+
+            for (int i = 0; i < REVOCATIONS; i++) {
+                revocations.add(CompletableFuture.runAsync(() -> {
+                    awaitQuietly(start);
+                    tokenRevocationService.revokeAll(user.getId());
+                }, executor));
+            }
+
+            start.countDown();
+            CompletableFuture.allOf(revocations.toArray(CompletableFuture[]::new)).join();
+        }
+
+        assertThat(userRepo.findTokenVersionById(user.getId())).contains(initialVersion + REVOCATIONS);
+    }
+
+    @Test
+    void savingAUserLoadedBeforeARevocationKeepsTheNewVersion() {
+
+        User user = createPatient().getUser();
+        User stale = userRepo.findById(user.getId()).orElseThrow();
+
+        tokenRevocationService.revokeAll(user.getId());
+        long revokedVersion = userRepo.findTokenVersionById(user.getId()).orElseThrow();
+
+        stale.setName("Renamed");
+        userRepo.save(stale);
+
+        assertThat(userRepo.findTokenVersionById(user.getId())).contains(revokedVersion);
+    }
+
+    @Test
+    void bumpingTheEntityCopiesTheStoredVersion() {
+
+        User user = userRepo.findById(createPatient().getUser().getId()).orElseThrow();
+        long initialVersion = user.getTokenVersion();
+
+        tokenRevocationService.bumpVersion(user);
+
+        assertThat(user.getTokenVersion()).isEqualTo(initialVersion + 1);
+        assertThat(userRepo.findTokenVersionById(user.getId())).contains(initialVersion + 1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
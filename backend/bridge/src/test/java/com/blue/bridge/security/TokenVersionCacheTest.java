@@ -0,0 +1,52 @@
+package com.blue.bridge.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.blue.bridge.users.repo.UserRepo;
+
+class TokenVersionCacheTest {
+
+    private final UserRepo userRepo = mock(UserRepo.class);
+
+    private final TokenVersionCache cache = new TokenVersionCache(userRepo);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @Test
+    void aFullCacheDropsTheLeastRecentlyUsedUser() {
+
+        when(userRepo.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        cache.isCurrent(1L, 0L);
+        cache.put(2L, 0L);
+        cache.put(3L, 0L);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+        verify(userRepo, times(2)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void anOlderVersionNeverReplacesANewerOne() {
+
+        cache.put(1L, 5L);
+        cache.put(1L, 4L);
+
+        assertThat(cache.isCurrent(1L, 5L)).isTrue();
+        assertThat(cache.isCurrent(1L, 4L)).isFalse();
+    }
+}
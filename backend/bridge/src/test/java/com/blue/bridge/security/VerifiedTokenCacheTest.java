@@ -0,0 +1,51 @@
+package com.blue.bridge.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @Test
+    void aFullCacheDropsTheLeastRecentlyUsedToken() {
+
+        cache.put("first", claimsExpiringIn(60_000));
+        cache.put("second", claimsExpiringIn(60_000));
+        cache.get("first");
+
+        cache.put("third", claimsExpiringIn(60_000));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("first")).isNotNull();
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isNotNull();
+    }
+
+    @Test
+    void expiredTokensAreNotServed() {
+
+        cache.put("expired", claimsExpiringIn(-1_000));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Claims claimsExpiringIn(long millis) {
+        return Jwts.claims().expiration(new Date(System.currentTimeMillis() + millis)).build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.blue.bridge.users.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.StatementCounter;
+import com.blue.bridge.appointment.service.AppointmentService;
+import com.blue.bridge.doctor.entity.Doctor;
+import com.blue.bridge.doctor.service.DoctorService;
+import com.blue.bridge.patient.entity.Patient;
+import com.blue.bridge.patient.service.PatientService;
+import com.blue.bridge.users.entity.User;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the statements of the endpoints that act on the caller, on the first call of a request
+ * and on a repeated call in the same request. The user and its profile are looked up at most
+ * once each on the first call and never again after that.
+ */
+@Slf4j
+class CurrentActorStatementCountTest extends PostgresIntegrationTest {
+
+    private static final Pattern IDENTITY_LOOKUP =
+            Pattern.compile("from (users|patients|doctors) \\w+ where \\w+\\.(email|user_id)=");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Test
+    void endpointsResolveTheCallerOncePerRequest() {
+
+        Doctor doctor = createDoctor();
+        Patient patient = createPatient();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+        createAppointment(doctor, patient, base);
+        createAppointment(doctor, patient, base.plusHours(2));
+
+        Map<String, Supplier<?>> patientEndpoints = new LinkedHashMap<>();
+        patientEndpoints.put("GET /api/users/me", userService::getMyUserDetails);
+        patientEndpoints.put("GET /api/patients/me", patientService::getPatientProfile);
+        patientEndpoints.put("GET /api/appointments (patient)", appointmentService::getMyAppointments);
+        patientEndpoints.put("GET /api/appointments/page (patient)",
+                () -> appointmentService.getMyAppointmentsPage(null, null, null, null, 10));
+
+        Map<String, Supplier<?>> doctorEndpoints = new LinkedHashMap<>();
+        doctorEndpoints.put("GET /api/doctors/me", doctorService::getDoctorProfile);
+        doctorEndpoints.put("GET /api/appointments (doctor)", appointmentService::getMyAppointments);
+
+        patientEndpoints.forEach((endpoint, call) -> assertResolvesOnce(endpoint, patient.getUser(), "PATIENT", call));
+        doctorEndpoints.forEach((endpoint, call) -> assertResolvesOnce(endpoint, doctor.getUser(), "DOCTOR", call));
+    }
+
+    private void assertResolvesOnce(String endpoint, User user, String role, Supplier<?> call) {
+
+        List<List<String>> calls = asUser(user, role, () -> {
+            StatementCounter.clear();
+            call.get();
+            List<String> first = StatementCounter.statements();
+
+            StatementCounter.clear();
+            call.get();
+            return List.of(first, StatementCounter.statements());
+        });
+
+        List<String> first = calls.get(0);
+        List<String> repeated = calls.get(1);
+        long lookups = first.stream().filter(sql -> IDENTITY_LOOKUP.matcher(sql).find()).count();
+
+        log.info("{}: {} statements on the first call ({} resolving the caller), {} on a repeated call",
+                endpoint, first.size(), lookups, repeated.size());
+
+        assertThat(lookups).as(endpoint).isBetween(1L, 2L);
+        assertThat(repeated).as(endpoint).noneMatch(sql -> IDENTITY_LOOKUP.matcher(sql).find());
+        assertThat(repeated.size()).as(endpoint).isLessThanOrEqualTo(first.size() - (int) lookups);
+    }
+}
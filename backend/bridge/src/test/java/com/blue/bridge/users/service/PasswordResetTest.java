@@ -0,0 +1,148 @@
+package com.blue.bridge.users.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.StatementCounter;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.PasswordResetRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Covers issuing password reset codes: one write per request, and the retry when a generated
+ * code is already taken by another user.
+ */
+@Slf4j
+class PasswordResetTest extends PostgresIntegrationTest {
+
+    private static final int REQUESTS = 300;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordResetRepo passwordResetRepo;
+
+    @MockitoSpyBean
+    private CodeGenerator codeGenerator;
+
+    @AfterEach
+    void resetGenerator() {
+        reset(codeGenerator);
+    }
+
+    @Test
+    void aCollidingCodeIsRetriedWithAFreshOne() {
+
+        User holder = createPatient().getUser();
+        User requester = createPatient().getUser();
+
+        String taken = uniqueCode();
+        String fresh = uniqueCode();
+
+        doReturn(taken).when(codeGenerator).generateCode();
+        forgetPassword(holder);
+
+        doReturn(taken, fresh).when(codeGenerator).generateCode();
+        forgetPassword(requester);
+
+        assertThat(passwordResetRepo.findByCode(fresh)).get()
+                .extracting(code -> code.getUser().getId()).isEqualTo(requester.getId());
+        assertThat(passwordResetRepo.findByCode(taken)).get()
+                .extracting(code -> code.getUser().getId()).isEqualTo(holder.getId());
+    }
+
+    @Test
+    void givesUpAfterThreeCollisions() {
+
+        User holder = createPatient().getUser();
+        User requester = createPatient().getUser();
+
+        String taken = uniqueCode();
+
+        doReturn(taken).when(codeGenerator).generateCode();
+        forgetPassword(holder);
+        clearInvocations(codeGenerator);
+
+        assertThatThrownBy(() -> forgetPassword(requester)).isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(codeGenerator, times(3)).generateCode();
+        assertThat(passwordResetRepo.findByCode(taken)).get()
+                .extracting(code -> code.getUser().getId()).isEqualTo(holder.getId());
+    }
+
+    @Test
+    void issuingACodeCostsOneWrite() {
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            users.add(createPatient().getUser());
+        }
+
+        List<Long> latencies = new ArrayList<>(REQUESTS);
+        List<Long> probes = new ArrayList<>(REQUESTS);
+
+        for (User user : users) {
+            StatementCounter.clear();
+            long started = System.nanoTime();
+            forgetPassword(user);
+            latencies.add(System.nanoTime() - started);
+
+            List<String> statements = StatementCounter.statements();
+            assertThat(statements).filteredOn(sql -> sql.contains("password_reset_code")).singleElement()
+                    .satisfies(sql -> assertThat(sql).startsWith("INSERT"));
+
+            // What each probing SELECT of the old generator added on top.
+            started = System.nanoTime();
+            passwordResetRepo.findByCode(codeGenerator.generateCode());
+            probes.add(System.nanoTime() - started);
+        }
+
+        CodeGenerator generator = new CodeGenerator();
+        long generated = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            generator.generateCode();
+        }
+        double generateMicros = (System.nanoTime() - generated) / 100_000 / 1_000.0;
+
+        log.info("forgetPassword over {} users: mean {} us, p99 {} us. A probing SELECT: mean {} us. "
+                        + "Generating a code: {} us",
+                REQUESTS, mean(latencies), p99(latencies), mean(probes), generateMicros);
+    }
+
+    private static String uniqueCode() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase();
+    }
+
+    private void forgetPassword(User user) {
+        asUser(user, "PATIENT", () -> authService.forgetPassword(user.getEmail()));
+    }
+
+    private static long mean(List<Long> nanos) {
+        return nanos.stream().mapToLong(Long::longValue).sum() / nanos.size() / 1_000;
+    }
+
+    private static long p99(List<Long> nanos) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000;
+    }
+}
@@ -0,0 +1,139 @@
+package com.blue.bridge.users.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.blue.bridge.PostgresIntegrationTest;
+import com.blue.bridge.exceptions.BadRequestException;
+import com.blue.bridge.security.TokenHasher;
+import com.blue.bridge.users.entity.RefreshToken;
+import com.blue.bridge.users.entity.User;
+import com.blue.bridge.users.repo.RefreshTokenRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+class RefreshTokenServiceTest extends PostgresIntegrationTest {
+
+    private static final int REFRESHES = 8;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenSweeper refreshTokenSweeper;
+
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Autowired
+    private TokenHasher tokenHasher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentRefreshesOfOneTokenLetExactlyOneThrough() throws Exception {
+
+        String token = refreshTokenService.issue(createPatient().getUser());
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<RefreshTokenService.RotatedToken>> refreshes = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(REFRESHES)) {
+            for (int i = 0; i < REFRESHES; i++) {
+                refreshes.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return refreshTokenService.rotate(token);
+                }, executor));
+            }
+
+            start.countDown();
+            CompletableFuture.allOf(refreshes.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+        }
+
+        assertThat(refreshes).filteredOn(refresh -> !refresh.isCompletedExceptionally()).hasSize(1);
+        // The losers count as reuse, so the whole family ends up revoked.
+        assertThat(liveTokensInFamilyOf(token)).isZero();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesItsReplacement() {
+
+        String token = refreshTokenService.issue(createPatient().getUser());
+        String replacement = refreshTokenService.rotate(token).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("already been used");
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(replacement))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("already been used");
+    }
+
+    @Test
+    void theSweeperStopsOnceItsTimeBudgetIsSpent() {
+
+        User user = createPatient().getUser();
+        LocalDateTime expired = LocalDateTime.now().minusDays(1);
+
+        for (int i = 0; i < 30; i++) {
+            refreshTokenRepo.save(RefreshToken.builder()
+                    .tokenHash(tokenHasher.hash(UUID.randomUUID().toString()))
+                    .familyId(UUID.randomUUID().toString())
+                    .user(user)
+                    .createdAt(expired.minusDays(14))
+                    .expiresAt(expired)
+                    .build());
+        }
+
+        double purgedBefore = meterRegistry.counter("jwt.refresh.sweeper.purged").count();
+        long runsBefore = meterRegistry.timer("jwt.refresh.sweeper.run").count();
+
+        ReflectionTestUtils.setField(refreshTokenSweeper, "batchSize", 10);
+        ReflectionTestUtils.setField(refreshTokenSweeper, "timeBudgetMs", 0L);
+        try {
+            refreshTokenSweeper.purgeExpiredTokens();
+        } finally {
+            ReflectionTestUtils.setField(refreshTokenSweeper, "batchSize", 500);
+            ReflectionTestUtils.setField(refreshTokenSweeper, "timeBudgetMs", 2000L);
+        }
+
+        assertThat(meterRegistry.counter("jwt.refresh.sweeper.purged").count() - purgedBefore).isEqualTo(10);
+        assertThat(meterRegistry.timer("jwt.refresh.sweeper.run").count()).isEqualTo(runsBefore + 1);
+
+        refreshTokenSweeper.purgeExpiredTokens();
+
+        assertThat(refreshTokenRepo.findAll())
+                .noneMatch(refreshToken -> refreshToken.getExpiresAt().isBefore(LocalDateTime.now()));
+    }
+
+    private long liveTokensInFamilyOf(String token) {
+
+        String familyId = refreshTokenRepo.findByTokenHashWithUser(tokenHasher.hash(token)).orElseThrow().getFamilyId();
+
+        return refreshTokenRepo.findAll().stream()
+                .filter(refreshToken -> refreshToken.getFamilyId().equals(familyId) && !refreshToken.isRevoked())
+                .count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}